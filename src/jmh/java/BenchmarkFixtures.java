@@ -0,0 +1,92 @@
+import java.util.List;
+
+/**
+ * Creates the ships, terminals and plan generators used by the benchmark workloads.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates a ship from a geometry string.
+     *
+     * @param geometry The geometry as "sections x storage areas x stack height", e.g. "20x4x35".
+     * @return A new, empty ship.
+     */
+    public static ContainerShip createShip(String geometry) {
+        String[] parts = geometry.split("x");
+        return new ContainerShip(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+    }
+
+    /**
+     * Creates a square terminal that is large enough for the given number of containers.
+     *
+     * @param containerCount The number of containers the terminal must hold.
+     * @return A new, empty terminal.
+     */
+    public static ContainerTerminal createTerminal(int containerCount) {
+        int side = sideFor(containerCount);
+        return new ContainerTerminal(side, side);
+    }
+
+    /**
+     * Creates a terminal filled with random containers.
+     *
+     * @param containerCount The number of containers to place.
+     * @return A new terminal with the given number of containers.
+     */
+    public static ContainerTerminal createFilledTerminal(int containerCount) {
+        ContainerTerminal terminal = createTerminal(containerCount);
+        terminal.placeRandomContainers(containerCount);
+        return terminal;
+    }
+
+    /**
+     * Creates a terminal that holds the given containers in consecutive slots.
+     *
+     * @param containers The containers to store.
+     * @return A new terminal with the given containers.
+     */
+    public static ContainerTerminal createTerminal(List<Container> containers) {
+        int side = sideFor(containers.size());
+        ContainerTerminal terminal = new ContainerTerminal(side, side);
+        for (int i = 0; i < containers.size(); i++) {
+            terminal.addContainer(i / side, i % side, containers.get(i));
+        }
+        return terminal;
+    }
+
+    /**
+     * Creates a plan generator by its short name.
+     *
+     * @param name The short name of the generator, e.g. "GreedyBalancing".
+     * @return A new plan generator.
+     */
+    public static LoadingPlanGenerator createGenerator(String name) {
+        switch (name) {
+            case "GreedyBalancing":
+                return new GreedyBalancingLoadingPlanGenerator();
+            case "GreedySimple":
+                return new GreedySimplePlanGenerator();
+            case "KarmarkarKarp":
+                return new KarmarkarKarpPlanGenerator();
+            case "MultiStart":
+                return new MultiStartPlanGenerator(1);
+            case "BranchAndBound":
+                return new BranchAndBoundPlanGenerator();
+            default:
+                throw new IllegalArgumentException("Unknown plan generator " + name);
+        }
+    }
+
+    /**
+     * Calculates the side length of a square terminal with about 80% occupancy.
+     *
+     * @param containerCount The number of containers.
+     * @return The number of rows and columns.
+     */
+    private static int sideFor(int containerCount) {
+        return Math.max(1, (int) Math.ceil(Math.sqrt(containerCount * 1.25)));
+    }
+}
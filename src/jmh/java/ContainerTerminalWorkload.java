@@ -0,0 +1,42 @@
+import benchmarks.Workload;
+
+import java.util.List;
+
+/**
+ * Benchmarks {@link ContainerTerminal#placeRandomContainers(int)} and {@link ContainerTerminal#removeContainerById}.
+ */
+public class ContainerTerminalWorkload implements Workload {
+    private boolean place;
+    private int containerCount;
+    private List<Container> containers;
+    private ContainerTerminal terminal;
+
+    @Override
+    public void setUp(String variant, String geometry, int containerCount) {
+        this.place = "placeRandomContainers".equals(variant);
+        this.containerCount = containerCount;
+        this.containers = BenchmarkFixtures.createFilledTerminal(containerCount).getAllContainers();
+    }
+
+    @Override
+    public void reset() {
+        terminal = place
+                ? BenchmarkFixtures.createTerminal(containerCount)
+                : BenchmarkFixtures.createTerminal(containers);
+    }
+
+    @Override
+    public Object run() {
+        if (place) {
+            terminal.placeRandomContainers(containerCount);
+            return terminal;
+        }
+        int removed = 0;
+        for (int i = 0; i < containers.size(); i++) {
+            if (terminal.removeContainerById(containers.get(i).getId()) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+}
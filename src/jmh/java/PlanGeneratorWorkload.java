@@ -0,0 +1,24 @@
+import benchmarks.Workload;
+
+import java.util.List;
+
+/**
+ * Benchmarks {@link LoadingPlanGenerator#generatePlan(ContainerShip, List)} for one generator.
+ */
+public class PlanGeneratorWorkload implements Workload {
+    private LoadingPlanGenerator generator;
+    private ContainerShip ship;
+    private List<Container> containers;
+
+    @Override
+    public void setUp(String variant, String geometry, int containerCount) {
+        generator = BenchmarkFixtures.createGenerator(variant);
+        ship = BenchmarkFixtures.createShip(geometry);
+        containers = BenchmarkFixtures.createFilledTerminal(containerCount).getAllContainers();
+    }
+
+    @Override
+    public Object run() {
+        return generator.generatePlan(ship, containers);
+    }
+}
@@ -0,0 +1,41 @@
+import benchmarks.Workload;
+
+/**
+ * Benchmarks batches of draws from {@link MersenneTwisterFast}.
+ */
+public class RandomNumberGeneratorWorkload implements Workload {
+    private final MersenneTwisterFast random = new MersenneTwisterFast(4357);
+    private String method;
+    private int draws;
+
+    @Override
+    public void setUp(String variant, String geometry, int containerCount) {
+        this.method = variant;
+        this.draws = containerCount;
+    }
+
+    @Override
+    public Object run() {
+        double sum = 0;
+        switch (method) {
+            case "nextInt":
+                for (int i = 0; i < draws; i++) {
+                    sum += random.nextInt(6750);
+                }
+                break;
+            case "nextDouble":
+                for (int i = 0; i < draws; i++) {
+                    sum += random.nextDouble();
+                }
+                break;
+            case "nextBoolean":
+                for (int i = 0; i < draws; i++) {
+                    sum += random.nextBoolean() ? 1 : 0;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown method " + method);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,64 @@
+import benchmarks.Workload;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Benchmarks applying a loading plan with {@link ShipLoader}, either from memory with one or several cranes
+ * or from a CSV file that is read sequentially or with a {@link ParallelPlanReader}.
+ */
+public class ShipLoaderWorkload implements Workload {
+    private final ShipLoader loader = new ShipLoader();
+    private final ParallelPlanReader parallelReader = new ParallelPlanReader();
+    private String source;
+    private ContainerShip shipTemplate;
+    private List<Container> containers;
+    private LoadingPlan loadingPlan;
+    private String csvFilePath;
+    private ContainerShip ship;
+    private ContainerTerminal terminal;
+
+    @Override
+    public void setUp(String variant, String geometry, int containerCount) {
+        source = variant;
+        shipTemplate = BenchmarkFixtures.createShip(geometry);
+        containers = BenchmarkFixtures.createFilledTerminal(containerCount).getAllContainers();
+        loadingPlan = new GreedyBalancingLoadingPlanGenerator().generatePlan(shipTemplate, containers);
+        try {
+            Path csvFile = Files.createTempFile("loading_plan", ".csv");
+            csvFile.toFile().deleteOnExit();
+            csvFilePath = csvFile.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        new LoadingManager().writePlanToCSV(loadingPlan, shipTemplate, csvFilePath);
+    }
+
+    @Override
+    public void reset() {
+        // Ein Klon hat dieselben IDs, daher passt der Ladeplan auch auf das neue leere Schiff
+        ship = shipTemplate.clone();
+        terminal = BenchmarkFixtures.createTerminal(containers);
+    }
+
+    @Override
+    public Object run() {
+        switch (source) {
+            case "csv":
+                loader.loadShipFromCSV(ship, terminal, csvFilePath);
+                break;
+            case "cranes":
+                loader.loadShip(ship, terminal, loadingPlan, Runtime.getRuntime().availableProcessors());
+                break;
+            case "parallel-csv":
+                loader.loadShipFromCSV(ship, terminal, csvFilePath, parallelReader);
+                break;
+            default:
+                loader.loadShip(ship, terminal, loadingPlan);
+        }
+        return ship;
+    }
+}
@@ -0,0 +1,42 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filling a terminal with random containers and removing all of them by ID.
+ * Every invocation works on a fresh terminal.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContainerTerminalBenchmark {
+
+    @Param({"placeRandomContainers", "removeContainerById"})
+    public String operation;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int containerCount;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workload.create("ContainerTerminalWorkload");
+        workload.setUp(operation, null, containerCount);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        workload.reset();
+    }
+
+    @Benchmark
+    public Object run() {
+        return workload.run();
+    }
+}
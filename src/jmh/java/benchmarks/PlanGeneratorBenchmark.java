@@ -0,0 +1,40 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures plan generation for every generator over ship geometry and container count,
+ * both as plans per second and as time per plan.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlanGeneratorBenchmark {
+
+    @Param({"GreedyBalancing", "GreedySimple", "KarmarkarKarp", "MultiStart", "BranchAndBound"})
+    public String generator;
+
+    @Param({"20x4x35", "60x10x35", "120x20x40"})
+    public String geometry;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int containerCount;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workload.create("PlanGeneratorWorkload");
+        workload.setUp(generator, geometry, containerCount);
+    }
+
+    @Benchmark
+    public Object generatePlan() {
+        return workload.run();
+    }
+}
@@ -0,0 +1,33 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures batches of 1024 draws from the Mersenne Twister.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomNumberGeneratorBenchmark {
+
+    @Param({"nextInt", "nextDouble", "nextBoolean"})
+    public String method;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workload.create("RandomNumberGeneratorWorkload");
+        workload.setUp(method, null, 1024);
+    }
+
+    @Benchmark
+    public Object draw() {
+        return workload.run();
+    }
+}
@@ -0,0 +1,46 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures applying a loading plan, from memory with one or several cranes and from a CSV file,
+ * over ship geometry and plan size.
+ * Every invocation loads a fresh empty ship from a freshly filled terminal.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShipLoaderBenchmark {
+
+    @Param({"memory", "cranes", "csv", "parallel-csv"})
+    public String source;
+
+    @Param({"20x4x35", "60x10x35", "120x20x40"})
+    public String geometry;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int containerCount;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workload.create("ShipLoaderWorkload");
+        workload.setUp(source, geometry, containerCount);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        workload.reset();
+    }
+
+    @Benchmark
+    public Object loadShip() {
+        return workload.run();
+    }
+}
@@ -0,0 +1,46 @@
+package benchmarks;
+
+/**
+ * A benchmarked operation of the application.
+ * JMH requires benchmark classes in a named package, while the application classes live in the default package
+ * and cannot be referenced from there. The workloads are therefore implemented in the default package and
+ * looked up by name once per trial, the measured call goes directly through this interface.
+ */
+public interface Workload {
+
+    /**
+     * Prepares the workload once per trial.
+     *
+     * @param variant        The variant of the operation, e.g. the name of a plan generator.
+     * @param geometry       The ship geometry as "sections x storage areas x stack height", e.g. "20x4x35".
+     * @param containerCount The number of containers the operation works on.
+     */
+    void setUp(String variant, String geometry, int containerCount);
+
+    /**
+     * Restores the state that the measured operation consumes, called before every invocation.
+     */
+    default void reset() {
+    }
+
+    /**
+     * Runs the measured operation.
+     *
+     * @return A result that is consumed by JMH to prevent dead-code elimination.
+     */
+    Object run();
+
+    /**
+     * Creates a workload by the simple name of its implementing class.
+     *
+     * @param className The name of the workload class in the default package.
+     * @return A new instance of the workload.
+     */
+    static Workload create(String className) {
+        try {
+            return (Workload) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Workload " + className + " not found", e);
+        }
+    }
+}
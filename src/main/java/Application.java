@@ -1,3 +1,4 @@
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -37,15 +38,48 @@ public class Application {
             ContainerTerminal terminal = terminals.get(i);
             List<Container> containerList = containerLists.get(i);
 
+            // Plane, schreibe die CSV-Datei und belade das Schiff gleichzeitig
             String csvFilePath = "loading_plan_" + planGenerator.getClass().getSimpleName() + ".csv";
-            planGenerator.generatePlan(ship, containerList, csvFilePath);
-
-            ShipLoader loader = new ShipLoader();
-            loader.loadShipFromCSV(ship, terminal, csvFilePath);
+            new PipelinedShipLoader().run(planGenerator, ship, terminal, containerList, csvFilePath);
 
             ship.printLoadDistribution();
             System.out.println("=====================================");
         }
+
+        // Lasse alle Generatoren gegeneinander antreten und belade ein drittes Schiff mit dem besten Plan
+        ContainerShip ship3 = new ContainerShip(20, 4, 35);
+        ContainerTerminal terminal3 = new ContainerTerminal(75, 90);
+        terminal3.placeRandomContainers(4000);
+        PortfolioResult result = PortfolioPlanRunner.withDefaultGenerators()
+                .run(ship3, terminal3.getAllContainers(), Duration.ofSeconds(10));
+        System.out.println("Portfolio aller Algorithmen");
+        System.out.println("=====================================");
+        result.getLatencies().forEach((name, latency) -> System.out.println(name + ": " + latency.toMillis()
+                + " ms, Balance " + result.getBalanceValues().get(name)));
+        System.out.println("Bester Algorithmus: " + result.getBestGeneratorName());
+        new ShipLoader().loadShip(ship3, terminal3, result.getBestPlan());
+        System.out.println("Balanced Value: " + ship3.getBalanceValue());
+        System.out.println("=====================================");
+
+        // Verteile die Container zweier Terminals auf eine Flotte unterschiedlich großer Schiffe
+        List<ContainerShip> fleet = Arrays.asList(new ContainerShip(20, 4, 35), new ContainerShip(10, 2, 20));
+        ContainerTerminal terminal4 = new ContainerTerminal(75, 90);
+        ContainerTerminal terminal5 = new ContainerTerminal(75, 90);
+        terminal4.placeRandomContainers(2000);
+        terminal5.placeRandomContainers(2000);
+        TerminalAssignmentEngine engine = new TerminalAssignmentEngine(new KarmarkarKarpPlanGenerator());
+        TerminalAssignment assignment = engine.assign(fleet, Arrays.asList(terminal4, terminal5),
+                Arrays.asList(terminal4, terminal5));
+        engine.load(assignment);
+        System.out.println("Flottenplanung");
+        System.out.println("=====================================");
+        System.out.println("Umfuhren zwischen den Terminals: " + assignment.getTransferCount());
+        for (int i = 0; i < fleet.size(); i++) {
+            ContainerShip ship = fleet.get(i);
+            System.out.println("Schiff " + (i + 1) + ": " + ship.getContainerCount() + " Container, Balanced Value: "
+                    + ship.getBalanceValue());
+        }
+        System.out.println("=====================================");
     }
 
 }
@@ -0,0 +1,369 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * A loading plan stored in a compact binary file that is read through memory mapping.
+ * <p>
+ * The file starts with a {@value #HEADER_SIZE} byte header: magic number, format version, ship ID,
+ * geometry hash of the ship (see {@link ContainerShip#getGeometryHash()}) and row count.
+ * It is followed by one {@value #RECORD_SIZE} byte record per row holding the container UUID and the storage area UUID.
+ * All values are big-endian. Opening a file only maps it, rows are decoded on access and can be read in any order.
+ */
+public class BinaryPlanFile {
+    /**
+     * Magic number at the start of every binary plan file ("CSLP")
+     */
+    static final int MAGIC = 0x43534C50;
+
+    /**
+     * Version of the file format
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Size of the header, padded so that records never cross a mapped segment
+     */
+    static final int HEADER_SIZE = 64;
+
+    /**
+     * Size of a single row record
+     */
+    static final int RECORD_SIZE = 32;
+
+    /**
+     * Size of a mapped segment, a multiple of the record size
+     */
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    /**
+     * Size of the write buffer
+     */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Mapped segments of the file, starting after the header
+     */
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Unique identifier of the ship the plan was created for
+     */
+    private final UUID shipId;
+
+    /**
+     * Geometry hash of the ship the plan was created for
+     */
+    private final long geometryHash;
+
+    /**
+     * Number of rows in the file
+     */
+    private final long rowCount;
+
+    /**
+     * Opens a binary plan file by mapping it into memory.
+     *
+     * @param path The path to the binary plan file.
+     * @throws IOException if the file cannot be read or is not a binary plan file.
+     */
+    public BinaryPlanFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException(path + " is too small to be a binary loading plan");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException(path + " is not a binary loading plan");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary loading plan version " + version + " in " + path);
+            }
+            this.shipId = new UUID(header.getLong(), header.getLong());
+            this.geometryHash = header.getLong();
+            this.rowCount = header.getLong();
+            // Negative oder überlaufende Zeilenzahlen dürfen die Längenprüfung nicht umgehen
+            if (rowCount < 0 || rowCount > (fileSize - HEADER_SIZE) / RECORD_SIZE) {
+                throw new IOException(path + " is truncated or corrupt: header declares " + rowCount + " rows");
+            }
+
+            long recordBytes = rowCount * RECORD_SIZE;
+            this.segments = new MappedByteBuffer[(int) ((recordBytes + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int segment = 0; segment < segments.length; segment++) {
+                long offset = segment * SEGMENT_SIZE;
+                long length = Math.min(SEGMENT_SIZE, recordBytes - offset);
+                segments[segment] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + offset, length);
+            }
+        }
+    }
+
+    /**
+     * Gets the unique identifier of the ship the plan was created for.
+     *
+     * @return The UUID of the ship.
+     */
+    public UUID getShipId() {
+        return shipId;
+    }
+
+    /**
+     * Gets the geometry hash of the ship the plan was created for.
+     *
+     * @return The geometry hash.
+     */
+    public long getGeometryHash() {
+        return geometryHash;
+    }
+
+    /**
+     * Returns the number of rows in the file.
+     *
+     * @return The number of rows.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the most significant bits of the container UUID of a row.
+     *
+     * @param row The index of the row.
+     * @return The most significant bits of the container UUID.
+     */
+    public long getContainerMsb(long row) {
+        return readLong(row, 0);
+    }
+
+    /**
+     * Returns the least significant bits of the container UUID of a row.
+     *
+     * @param row The index of the row.
+     * @return The least significant bits of the container UUID.
+     */
+    public long getContainerLsb(long row) {
+        return readLong(row, 8);
+    }
+
+    /**
+     * Returns the most significant bits of the storage area UUID of a row.
+     *
+     * @param row The index of the row.
+     * @return The most significant bits of the storage area UUID.
+     */
+    public long getStorageAreaMsb(long row) {
+        return readLong(row, 16);
+    }
+
+    /**
+     * Returns the least significant bits of the storage area UUID of a row.
+     *
+     * @param row The index of the row.
+     * @return The least significant bits of the storage area UUID.
+     */
+    public long getStorageAreaLsb(long row) {
+        return readLong(row, 24);
+    }
+
+    /**
+     * Returns the container UUID of a row.
+     *
+     * @param row The index of the row.
+     * @return The container UUID.
+     */
+    public UUID getContainerId(long row) {
+        return new UUID(getContainerMsb(row), getContainerLsb(row));
+    }
+
+    /**
+     * Returns the storage area UUID of a row.
+     *
+     * @param row The index of the row.
+     * @return The storage area UUID.
+     */
+    public UUID getStorageAreaId(long row) {
+        return new UUID(getStorageAreaMsb(row), getStorageAreaLsb(row));
+    }
+
+    /**
+     * Converts the rows into an in-memory loading plan for the given ship.
+     * Rows whose container is not stored in the terminal are skipped.
+     *
+     * @param ship     The ship the plan was created for.
+     * @param terminal The terminal where the containers are located.
+     * @return The loading plan.
+     * @throws IllegalArgumentException if the file was written for a ship with a different ID or geometry.
+     */
+    public LoadingPlan toLoadingPlan(ContainerShip ship, ContainerTerminal terminal) {
+        if (!ship.getId().equals(shipId) || ship.getGeometryHash() != geometryHash) {
+            throw new IllegalArgumentException("Binary loading plan belongs to ship " + shipId
+                    + " with geometry hash " + Long.toHexString(geometryHash));
+        }
+        LoadingPlan loadingPlan = new LoadingPlan(shipId, (int) Math.min(rowCount, Integer.MAX_VALUE - 8));
+        for (long row = 0; row < rowCount; row++) {
+            Container container = terminal.getContainerById(getContainerId(row));
+            int storageAreaIndex = ship.getStorageAreaIndex(getStorageAreaId(row));
+            if (container != null && storageAreaIndex >= 0) {
+                loadingPlan.add(container, storageAreaIndex);
+            }
+        }
+        return loadingPlan;
+    }
+
+    /**
+     * Reads a long from a record.
+     *
+     * @param row    The index of the row.
+     * @param offset The offset of the value within the record.
+     * @return The value.
+     * @throws IndexOutOfBoundsException if the row does not exist.
+     */
+    private long readLong(long row, int offset) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for plan of size " + rowCount);
+        }
+        long position = row * RECORD_SIZE + offset;
+        return segments[(int) (position / SEGMENT_SIZE)].getLong((int) (position % SEGMENT_SIZE));
+    }
+
+    /**
+     * Writes a loading plan to a binary plan file.
+     *
+     * @param loadingPlan The loading plan to be written.
+     * @param ship        The ship the plan was created for, used to resolve the storage area IDs.
+     * @param path        The path to the binary plan file.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(LoadingPlan loadingPlan, ContainerShip ship, Path path) throws IOException {
+        try (FileChannel channel = openForWriting(path)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            buffer.position(HEADER_SIZE);
+            for (int row = 0; row < loadingPlan.size(); row++) {
+                UUID containerId = loadingPlan.getContainer(row).getId();
+                UUID storageAreaId = ship.getStorageArea(loadingPlan.getStorageAreaIndex(row)).getId();
+                putRecord(channel, buffer, containerId.getMostSignificantBits(), containerId.getLeastSignificantBits(),
+                        storageAreaId.getMostSignificantBits(), storageAreaId.getLeastSignificantBits());
+            }
+            finish(channel, buffer, ship, loadingPlan.size());
+        }
+    }
+
+    /**
+     * Converts a loading plan CSV file into a binary plan file.
+     * Malformed CSV rows are reported and skipped.
+     *
+     * @param csvFile    The path to the CSV file.
+     * @param binaryFile The path to the binary plan file.
+     * @param ship       The ship the plan was created for, its ID and geometry hash go into the header.
+     * @return The number of rows written.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public static long convertCsvToBinary(Path csvFile, Path binaryFile, ContainerShip ship) throws IOException {
+        try (FileChannel channel = openForWriting(binaryFile)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            buffer.position(HEADER_SIZE);
+            long rows = new PlanCsvReader().read(csvFile, (lineNumber, containerMsb, containerLsb, storageAreaMsb, storageAreaLsb) -> {
+                try {
+                    putRecord(channel, buffer, containerMsb, containerLsb, storageAreaMsb, storageAreaLsb);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            finish(channel, buffer, ship, rows);
+            return rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Converts a binary plan file into a loading plan CSV file.
+     *
+     * @param binaryFile The path to the binary plan file.
+     * @param csvFile    The path to the CSV file.
+     * @return The number of rows written.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public static long convertBinaryToCsv(Path binaryFile, Path csvFile) throws IOException {
+        BinaryPlanFile planFile = new BinaryPlanFile(binaryFile);
+        try (PlanCsvWriter writer = new PlanCsvWriter(csvFile, null)) {
+            for (long row = 0; row < planFile.getRowCount(); row++) {
+                writer.writeRow(planFile.getContainerMsb(row), planFile.getContainerLsb(row),
+                        planFile.getStorageAreaMsb(row), planFile.getStorageAreaLsb(row));
+            }
+        }
+        return planFile.getRowCount();
+    }
+
+    /**
+     * Opens a file channel that replaces the file.
+     *
+     * @param path The path to the file.
+     * @return The channel.
+     * @throws IOException if the file cannot be opened.
+     */
+    private static FileChannel openForWriting(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Appends a record to the write buffer and flushes the buffer when it is full.
+     *
+     * @param channel        The channel to write to.
+     * @param buffer         The write buffer.
+     * @param containerMsb   The most significant bits of the container UUID.
+     * @param containerLsb   The least significant bits of the container UUID.
+     * @param storageAreaMsb The most significant bits of the storage area UUID.
+     * @param storageAreaLsb The least significant bits of the storage area UUID.
+     * @throws IOException if the buffer cannot be written.
+     */
+    private static void putRecord(FileChannel channel, ByteBuffer buffer, long containerMsb, long containerLsb,
+                                  long storageAreaMsb, long storageAreaLsb) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            flush(channel, buffer);
+        }
+        buffer.putLong(containerMsb).putLong(containerLsb).putLong(storageAreaMsb).putLong(storageAreaLsb);
+    }
+
+    /**
+     * Flushes the remaining records and writes the header, which is only complete once the row count is known.
+     *
+     * @param channel  The channel to write to.
+     * @param buffer   The write buffer.
+     * @param ship     The ship the plan was created for.
+     * @param rowCount The number of rows written.
+     * @throws IOException if the file cannot be written.
+     */
+    private static void finish(FileChannel channel, ByteBuffer buffer, ContainerShip ship, long rowCount) throws IOException {
+        // Der erste Flush hat bereits Platz für den Header geschrieben, er wird jetzt überschrieben
+        flush(channel, buffer);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION)
+                .putLong(ship.getId().getMostSignificantBits()).putLong(ship.getId().getLeastSignificantBits())
+                .putLong(ship.getGeometryHash()).putLong(rowCount);
+        header.clear();
+        channel.write(header, 0);
+    }
+
+    /**
+     * Writes the content of the buffer to the channel and clears it.
+     *
+     * @param channel The channel to write to.
+     * @param buffer  The write buffer.
+     * @throws IOException if the buffer cannot be written.
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,322 @@
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implements the LoadingPlanGenerator interface with an exact branch-and-bound search for the best split
+ * of the containers between the two sides of the ship.
+ * <p>
+ * The containers are assigned in descending weight order, the lighter side is tried first. A branch is pruned
+ * as soon as the weight of the remaining containers cannot bring the sides closer than the best split found so far.
+ * If the remaining containers are not heavier than the current difference, or one side is full, the rest of the
+ * branch is decided without further search. On an empty ship the first container is only tried on the left side,
+ * because the mirrored split is equally good. The split of the {@link KarmarkarKarpPlanGenerator} serves as the
+ * first incumbent, so the result is never worse than that. If that split does not fit the free slots of the sides,
+ * it is repaired first, so even a search stopped at once returns a split that fits.
+ * <p>
+ * The search is exact for a few hundred containers and stops at the deadline otherwise, returning the best split
+ * found so far. Afterwards every side is stacked with a {@link StorageAreaBalancer}.
+ */
+public class BranchAndBoundPlanGenerator implements LoadingPlanGenerator {
+    /**
+     * Default time the search may take
+     */
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(1);
+
+    /**
+     * Number of search nodes between two checks of the clock
+     */
+    private static final int CLOCK_CHECK_INTERVAL = 4096;
+
+    /**
+     * Difference below which a split cannot be improved any further
+     */
+    private static final double PERFECT_DIFFERENCE = 1e-9;
+
+    /**
+     * Time the search may take
+     */
+    private final Duration deadline;
+
+    /**
+     * Creates a generator with the default deadline.
+     */
+    public BranchAndBoundPlanGenerator() {
+        this(DEFAULT_DEADLINE);
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param deadline The time the search may take.
+     * @throws IllegalArgumentException if the deadline is negative.
+     */
+    public BranchAndBoundPlanGenerator(Duration deadline) {
+        if (deadline.isNegative()) {
+            throw new IllegalArgumentException("Deadline must not be negative");
+        }
+        this.deadline = deadline;
+    }
+
+    /**
+     * Generates a loading plan for the given container ship and list of containers.
+     * If the ship cannot take all containers, the heaviest ones are loaded and the rest stay in the terminal.
+     *
+     * @param ship       The container ship to be loaded.
+     * @param containers The list of containers to be loaded onto the ship.
+     * @param sink       The sink receiving the rows of the plan.
+     */
+    @Override
+    public void generatePlan(ContainerShip ship, List<Container> containers, LoadingPlanSink sink) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        StorageAreaBalancer balancer = new StorageAreaBalancer(ship);
+        int leftCapacity = 0;
+        int rightCapacity = 0;
+        for (int area = 0; area < ship.getStorageAreaCount(); area++) {
+            StorageArea storageArea = ship.getStorageArea(area);
+            int free = storageArea.getMaxStackSize() - storageArea.getContainerCount();
+            if (ship.isLeftStorageArea(area)) {
+                leftCapacity += free;
+            } else {
+                rightCapacity += free;
+            }
+        }
+
+        // Sortiere eine Kopie, die Liste des Aufrufers bleibt unverändert
+        WeightOrder sorted = new WeightOrder(containers);
+        int count = Math.min(sorted.size(), leftCapacity + rightCapacity);
+        double[] weights = sorted.getWeights(count);
+
+        Solution solution = solve(weights, balancer.getLeftWeight() - balancer.getRightWeight(),
+                leftCapacity, rightCapacity, deadlineNanos);
+        for (int i = 0; i < count; i++) {
+            sink.add(sorted.getContainer(i), balancer.placeOnSide(solution.left[i], weights[i]));
+        }
+    }
+
+    /**
+     * Finds the split of the weights between the sides that minimizes the final difference.
+     *
+     * @param weights           The weights in descending order, not more than both sides can take.
+     * @param initialDifference The weight on the left minus the weight on the right before the split.
+     * @param leftCapacity      The number of weights the left side can take.
+     * @param rightCapacity     The number of weights the right side can take.
+     * @param deadlineNanos     The value of {@link System#nanoTime()} at which the search stops.
+     * @return The best split found.
+     */
+    static Solution solve(double[] weights, double initialDifference, int leftCapacity, int rightCapacity,
+                          long deadlineNanos) {
+        int count = weights.length;
+        // remaining[i] ist das Gewicht der Container ab Position i
+        double[] remaining = new double[count + 1];
+        for (int i = count - 1; i >= 0; i--) {
+            remaining[i] = remaining[i + 1] + weights[i];
+        }
+
+        Solution best = incumbent(weights, initialDifference, leftCapacity, rightCapacity);
+        boolean[] left = new boolean[count];
+        boolean[] preferLeft = new boolean[count];
+        int[] tried = new int[count];
+        boolean symmetric = initialDifference == 0 && leftCapacity == rightCapacity;
+
+        double difference = initialDifference;
+        int leftCount = 0;
+        int rightCount = 0;
+        int depth = 0;
+        boolean descending = true;
+        long nodes = 0;
+        boolean complete = true;
+
+        while (depth >= 0) {
+            if (descending) {
+                if (++nodes % CLOCK_CHECK_INTERVAL == 0
+                        && (System.nanoTime() - deadlineNanos >= 0 || Thread.currentThread().isInterrupted())) {
+                    complete = false;
+                    break;
+                }
+                double absolute = Math.abs(difference);
+                double rest = remaining[depth];
+                if (best.difference <= PERFECT_DIFFERENCE || absolute - rest >= best.difference) {
+                    // Auch die günstigste Fortsetzung ist nicht besser als die bisher beste Aufteilung
+                    depth--;
+                    descending = false;
+                    continue;
+                }
+                boolean lighterLeft = difference <= 0;
+                int lighterFree = lighterLeft ? leftCapacity - leftCount : rightCapacity - rightCount;
+                boolean forced = leftCount == leftCapacity || rightCount == rightCapacity;
+                if (depth == count || forced || (absolute >= rest && lighterFree >= count - depth)) {
+                    // Der Rest der Aufteilung steht fest: alles auf die leichtere Seite oder auf die Seite mit Platz
+                    boolean restLeft = forced ? leftCount < leftCapacity : lighterLeft;
+                    double finalDifference = Math.abs(difference + (restLeft ? rest : -rest));
+                    if (finalDifference < best.difference) {
+                        boolean[] sides = Arrays.copyOf(left, count);
+                        Arrays.fill(sides, depth, count, restLeft);
+                        best = new Solution(sides, finalDifference, false);
+                    }
+                    depth--;
+                    descending = false;
+                    continue;
+                }
+                preferLeft[depth] = lighterLeft;
+                tried[depth] = 0;
+            } else {
+                // Zurück aus dem Teilbaum: Zuweisung auf dieser Ebene rückgängig machen
+                if (left[depth]) {
+                    difference -= weights[depth];
+                    leftCount--;
+                } else {
+                    difference += weights[depth];
+                    rightCount--;
+                }
+            }
+
+            boolean assigned = false;
+            while (tried[depth] < 2 && !assigned) {
+                boolean toLeft = tried[depth] == 0 ? preferLeft[depth] : !preferLeft[depth];
+                tried[depth]++;
+                if (symmetric && depth == 0 && !toLeft) {
+                    // Die gespiegelte Aufteilung ist gleich gut
+                    continue;
+                }
+                if (toLeft ? leftCount < leftCapacity : rightCount < rightCapacity) {
+                    left[depth] = toLeft;
+                    if (toLeft) {
+                        difference += weights[depth];
+                        leftCount++;
+                    } else {
+                        difference -= weights[depth];
+                        rightCount++;
+                    }
+                    assigned = true;
+                }
+            }
+            if (assigned) {
+                depth++;
+                descending = true;
+            } else {
+                depth--;
+                descending = false;
+            }
+        }
+        return new Solution(best.left, best.difference, complete || best.difference <= PERFECT_DIFFERENCE);
+    }
+
+    /**
+     * Creates the first incumbent from the split of the largest differencing method. If that split does not fit
+     * the capacities, the lightest weights of the overfull side are moved to the other side. The greedy split is
+     * used instead if it is better, so the incumbent always fits the capacities.
+     *
+     * @param weights           The weights in descending order, not more than both sides can take.
+     * @param initialDifference The weight on the left minus the weight on the right before the split.
+     * @param leftCapacity      The number of weights the left side can take.
+     * @param rightCapacity     The number of weights the right side can take.
+     * @return A split that fits the capacities.
+     */
+    private static Solution incumbent(double[] weights, double initialDifference, int leftCapacity, int rightCapacity) {
+        int count = weights.length;
+        boolean[] heavierSet = count == 0 ? new boolean[0] : KarmarkarKarpPlanGenerator.split(weights);
+        // Die schwerere Menge kommt auf die leichtere Seite
+        boolean heavierLeft = initialDifference <= 0;
+        boolean[] left = new boolean[count];
+        int leftCount = 0;
+        for (int i = 0; i < count; i++) {
+            left[i] = heavierSet[i] == heavierLeft;
+            if (left[i]) {
+                leftCount++;
+            }
+        }
+        if (leftCount <= leftCapacity && count - leftCount <= rightCapacity) {
+            return new Solution(left, difference(weights, left, initialDifference), false);
+        }
+
+        // Überzählige Gewichte der vollen Seite wandern auf die andere Seite, die leichtesten zuerst
+        boolean overfullLeft = leftCount > leftCapacity;
+        int excess = overfullLeft ? leftCount - leftCapacity : count - leftCount - rightCapacity;
+        for (int i = count - 1; i >= 0 && excess > 0; i--) {
+            if (left[i] == overfullLeft) {
+                left[i] = !overfullLeft;
+                excess--;
+            }
+        }
+        Solution repaired = new Solution(left, difference(weights, left, initialDifference), false);
+        Solution greedy = greedy(weights, initialDifference, leftCapacity, rightCapacity);
+        return greedy.difference < repaired.difference ? greedy : repaired;
+    }
+
+    /**
+     * Puts every weight on the lighter side, or on the other side if the lighter one is full.
+     *
+     * @param weights           The weights in descending order, not more than both sides can take.
+     * @param initialDifference The weight on the left minus the weight on the right before the split.
+     * @param leftCapacity      The number of weights the left side can take.
+     * @param rightCapacity     The number of weights the right side can take.
+     * @return A split that fits the capacities.
+     */
+    private static Solution greedy(double[] weights, double initialDifference, int leftCapacity, int rightCapacity) {
+        boolean[] left = new boolean[weights.length];
+        double difference = initialDifference;
+        int leftCount = 0;
+        int rightCount = 0;
+        for (int i = 0; i < weights.length; i++) {
+            left[i] = rightCount == rightCapacity || (difference <= 0 && leftCount < leftCapacity);
+            if (left[i]) {
+                leftCount++;
+                difference += weights[i];
+            } else {
+                rightCount++;
+                difference -= weights[i];
+            }
+        }
+        return new Solution(left, Math.abs(difference), false);
+    }
+
+    /**
+     * Computes the absolute difference between the sides after a split.
+     *
+     * @param weights           The weights.
+     * @param left              For every weight, true if it goes to the left side.
+     * @param initialDifference The weight on the left minus the weight on the right before the split.
+     * @return The absolute difference.
+     */
+    private static double difference(double[] weights, boolean[] left, double initialDifference) {
+        double difference = initialDifference;
+        for (int i = 0; i < weights.length; i++) {
+            difference += left[i] ? weights[i] : -weights[i];
+        }
+        return Math.abs(difference);
+    }
+
+    /**
+     * A split of the weights between the sides of the ship.
+     */
+    static final class Solution {
+        /**
+         * For every weight, true if it goes to the left side
+         */
+        final boolean[] left;
+
+        /**
+         * Absolute difference between the sides after the split
+         */
+        final double difference;
+
+        /**
+         * Indicates that the search was complete, so no better split exists
+         */
+        final boolean optimal;
+
+        /**
+         * Creates a split.
+         *
+         * @param left       For every weight, true if it goes to the left side.
+         * @param difference The absolute difference between the sides after the split.
+         * @param optimal    true if no better split exists.
+         */
+        Solution(boolean[] left, double difference, boolean optimal) {
+            this.left = left;
+            this.difference = difference;
+            this.optimal = optimal;
+        }
+    }
+}
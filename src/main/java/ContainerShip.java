@@ -1,5 +1,7 @@
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -17,6 +19,56 @@ public class ContainerShip implements Cloneable {
      */
     private final UUID id;
 
+    /**
+     * All storage areas of the ship in index order: section by section, left before right
+     */
+    private StorageArea[] storageAreas;
+
+    /**
+     * Section index of every storage area
+     */
+    private int[] areaSections;
+
+    /**
+     * Position of every storage area within its side of the section
+     */
+    private int[] areaSlots;
+
+    /**
+     * Indicates for every storage area whether it is on the left side
+     */
+    private boolean[] leftAreas;
+
+    /**
+     * Index of the first storage area of every section
+     */
+    private int[] sectionOffsets;
+
+    /**
+     * Registry of all storage areas: storage area ID -> storage area index
+     */
+    private Map<UUID, Integer> storageAreaIndexById;
+
+    /**
+     * Registry of all sections: section ID -> section index
+     */
+    private Map<UUID, Integer> sectionIndexById;
+
+    /**
+     * Hash over the storage area layout, identifies the geometry that storage area indices refer to
+     */
+    private long geometryHash;
+
+    /**
+     * Running total of the weight on the left side of the ship
+     */
+    private WeightTotal leftTotal = new WeightTotal();
+
+    /**
+     * Running total of the weight on the right side of the ship
+     */
+    private WeightTotal rightTotal = new WeightTotal();
+
     /**
      * Creates a new ContainerShip with the given number of sections, storage areas per section, and maximum stack size.
      *
@@ -30,6 +82,8 @@ public class ContainerShip implements Cloneable {
             this.sections.add(new Section(numStorageAreas, maxStackSize));
         }
         this.id = UUID.randomUUID();
+        attachSections();
+        indexStorageAreas();
     }
 
     /**
@@ -50,6 +104,184 @@ public class ContainerShip implements Cloneable {
         return sections;
     }
 
+    /**
+     * Returns the number of storage areas of the ship.
+     *
+     * @return The number of storage areas.
+     */
+    public int getStorageAreaCount() {
+        return storageAreas.length;
+    }
+
+    /**
+     * Returns the storage area with the given index.
+     * Storage areas are numbered section by section, within a section the left areas come before the right ones.
+     * Clones of this ship use the same numbering, so an index refers to the same storage area ID on all of them.
+     *
+     * @param index The index of the storage area.
+     * @return The storage area.
+     */
+    public StorageArea getStorageArea(int index) {
+        return storageAreas[index];
+    }
+
+    /**
+     * Checks whether the storage area with the given index is on the left side of the ship.
+     *
+     * @param index The index of the storage area.
+     * @return true if the storage area is on the left side, false otherwise.
+     */
+    public boolean isLeftStorageArea(int index) {
+        return leftAreas[index];
+    }
+
+    /**
+     * Returns the index of the section that contains the storage area with the given index.
+     *
+     * @param index The index of the storage area.
+     * @return The index of the section in {@link #getSections()}.
+     */
+    public int getSectionIndex(int index) {
+        return areaSections[index];
+    }
+
+    /**
+     * Returns the position of the storage area with the given index within its side of the section.
+     *
+     * @param index The index of the storage area.
+     * @return The position in {@link Section#getLeftStorageAreas()} or {@link Section#getRightStorageAreas()}.
+     */
+    public int getSlotIndex(int index) {
+        return areaSlots[index];
+    }
+
+    /**
+     * Returns the index of a storage area given by its section, side and position.
+     *
+     * @param sectionIndex The index of the section.
+     * @param left         true for the left side, false for the right side.
+     * @param slot         The position of the storage area within its side.
+     * @return The index of the storage area.
+     */
+    public int getStorageAreaIndex(int sectionIndex, boolean left, int slot) {
+        int offset = sectionOffsets[sectionIndex];
+        return left ? offset + slot : offset + sections.get(sectionIndex).getLeftStorageAreas().size() + slot;
+    }
+
+    /**
+     * Returns a hash over the storage area layout: the IDs, sections and stack sizes of all storage areas in index order.
+     * Clones of this ship have the same hash, so it identifies the ships a stored loading plan can be applied to.
+     *
+     * @return The geometry hash.
+     */
+    public long getGeometryHash() {
+        return geometryHash;
+    }
+
+    /**
+     * Returns the index of the storage area with the given ID.
+     *
+     * @param storageAreaId The UUID of the storage area.
+     * @return The index of the storage area, or -1 if the ship has no such storage area.
+     */
+    public int getStorageAreaIndex(UUID storageAreaId) {
+        Integer index = storageAreaIndexById.get(storageAreaId);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Returns the storage area with the given ID.
+     *
+     * @param storageAreaId The UUID of the storage area.
+     * @return The storage area, or null if the ship has no such storage area.
+     */
+    public StorageArea getStorageAreaById(UUID storageAreaId) {
+        Integer index = storageAreaIndexById.get(storageAreaId);
+        return index != null ? storageAreas[index] : null;
+    }
+
+    /**
+     * Returns the section that contains the storage area with the given ID.
+     *
+     * @param storageAreaId The UUID of the storage area.
+     * @return The section, or null if the ship has no such storage area.
+     */
+    public Section getSectionOfStorageArea(UUID storageAreaId) {
+        Integer index = storageAreaIndexById.get(storageAreaId);
+        return index != null ? sections.get(areaSections[index]) : null;
+    }
+
+    /**
+     * Returns the section with the given ID.
+     *
+     * @param sectionId The UUID of the section.
+     * @return The section, or null if the ship has no such section.
+     */
+    public Section getSectionById(UUID sectionId) {
+        Integer index = sectionIndexById.get(sectionId);
+        return index != null ? sections.get(index) : null;
+    }
+
+    /**
+     * Builds the flat storage area index and the ID registries from the sections.
+     */
+    private void indexStorageAreas() {
+        int areaCount = 0;
+        for (Section section : sections) {
+            areaCount += section.getLeftStorageAreas().size() + section.getRightStorageAreas().size();
+        }
+        storageAreas = new StorageArea[areaCount];
+        areaSections = new int[areaCount];
+        areaSlots = new int[areaCount];
+        leftAreas = new boolean[areaCount];
+        sectionOffsets = new int[sections.size()];
+        storageAreaIndexById = new HashMap<>(areaCount * 2);
+        sectionIndexById = new HashMap<>(sections.size() * 2);
+
+        int index = 0;
+        for (int sectionIndex = 0; sectionIndex < sections.size(); sectionIndex++) {
+            Section section = sections.get(sectionIndex);
+            sectionOffsets[sectionIndex] = index;
+            sectionIndexById.put(section.getId(), sectionIndex);
+            List<StorageArea> left = section.getLeftStorageAreas();
+            for (int slot = 0; slot < left.size(); slot++, index++) {
+                storageAreas[index] = left.get(slot);
+                areaSections[index] = sectionIndex;
+                areaSlots[index] = slot;
+                leftAreas[index] = true;
+            }
+            List<StorageArea> right = section.getRightStorageAreas();
+            for (int slot = 0; slot < right.size(); slot++, index++) {
+                storageAreas[index] = right.get(slot);
+                areaSections[index] = sectionIndex;
+                areaSlots[index] = slot;
+            }
+        }
+        geometryHash = 0xcbf29ce484222325L;
+        for (int area = 0; area < areaCount; area++) {
+            StorageArea storageArea = storageAreas[area];
+            storageAreaIndexById.put(storageArea.getId(), area);
+            geometryHash = mixHash(geometryHash, storageArea.getId().getMostSignificantBits());
+            geometryHash = mixHash(geometryHash, storageArea.getId().getLeastSignificantBits());
+            geometryHash = mixHash(geometryHash, ((long) areaSections[area] << 32) | storageArea.getMaxStackSize());
+        }
+    }
+
+    /**
+     * Mixes a value into a 64-bit FNV-1a style hash.
+     *
+     * @param hash  The current hash.
+     * @param value The value to mix in.
+     * @return The new hash.
+     */
+    private static long mixHash(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash ^= (value >>> shift) & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
     /**
      * Prints the load distribution across all sections of the ship.
      */
@@ -78,25 +310,69 @@ public class ContainerShip implements Cloneable {
 
 
     /**
-     * Calculates the total weight on the left side of the ship.
+     * Returns the total weight on the left side of the ship.
+     * The value is maintained by the sections, so this is a constant-time read of a {@link WeightTotal}.
      *
      * @return The total weight on the left side.
      */
     public double getTotalLeftWeight() {
-        return sections.stream()
-                .mapToDouble(Section::getLeftTotalWeight)
-                .sum();
+        return leftTotal.getWeight();
     }
 
     /**
-     * Calculates the total weight on the right side of the ship.
+     * Returns the total weight on the right side of the ship.
+     * The value is maintained by the sections, so this is a constant-time read of a {@link WeightTotal}.
      *
      * @return The total weight on the right side.
      */
     public double getTotalRightWeight() {
-        return sections.stream()
-                .mapToDouble(Section::getRightTotalWeight)
-                .sum();
+        return rightTotal.getWeight();
+    }
+
+    /**
+     * Returns the number of containers on the ship.
+     *
+     * @return The number of containers on both sides.
+     */
+    public int getContainerCount() {
+        return (int) (leftTotal.getCount() + rightTotal.getCount());
+    }
+
+    /**
+     * Updates the running totals after a container has been added to one of the sections.
+     *
+     * @param leftSide true if the container was added on the left side.
+     * @param weight   The weight of the added container.
+     */
+    void onContainerAdded(boolean leftSide, double weight) {
+        if (leftSide) {
+            leftTotal.add(weight);
+        } else {
+            rightTotal.add(weight);
+        }
+    }
+
+    /**
+     * Updates the running totals after a container has been removed from one of the sections.
+     *
+     * @param leftSide true if the container was removed from the left side.
+     * @param weight   The weight of the removed container.
+     */
+    void onContainerRemoved(boolean leftSide, double weight) {
+        if (leftSide) {
+            leftTotal.remove(weight);
+        } else {
+            rightTotal.remove(weight);
+        }
+    }
+
+    /**
+     * Attaches all sections to this ship.
+     */
+    private void attachSections() {
+        for (Section section : sections) {
+            section.attachTo(this);
+        }
     }
 
     /**
@@ -121,6 +397,18 @@ public class ContainerShip implements Cloneable {
             for (Section section : sections) {
                 cloned.sections.add(section.clone());
             }
+            // Die geklonten Sektionen sind leer, daher beginnen auch die Summen bei 0
+            cloned.leftTotal = new WeightTotal();
+            cloned.rightTotal = new WeightTotal();
+            cloned.attachSections();
+            // Die Geometrie und die IDs sind identisch, nur die Lagerbereiche selbst müssen neu eingetragen werden
+            cloned.storageAreas = new StorageArea[storageAreas.length];
+            for (int index = 0; index < storageAreas.length; index++) {
+                Section section = cloned.sections.get(areaSections[index]);
+                cloned.storageAreas[index] = leftAreas[index]
+                        ? section.getLeftStorageAreas().get(areaSlots[index])
+                        : section.getRightStorageAreas().get(areaSlots[index]);
+            }
             return cloned;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError();
@@ -0,0 +1,172 @@
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * A stack of containers that keeps the weights of its elements next to them.
+ * For every level the array weightSums holds the total weight of the containers up to and including that level,
+ * so the total weight is a single array read and stays exact after any number of push and pop operations.
+ * The backing arrays are allocated on the first push and grow up to the maximum capacity.
+ */
+public class ContainerStack {
+    /**
+     * Capacity of the backing arrays after the first push
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Shared backing array of all stacks that never had an element
+     */
+    private static final Container[] EMPTY_CONTAINERS = new Container[0];
+
+    /**
+     * Shared weight array of all stacks that never had an element
+     */
+    private static final double[] EMPTY_WEIGHT_SUMS = new double[0];
+
+    /**
+     * Maximum capacity of the stack
+     */
+    private final int maxCapacity;
+
+    /**
+     * Array to internally store the containers
+     */
+    private Container[] containers;
+
+    /**
+     * Cumulative weight of the containers from the bottom up to every level
+     */
+    private double[] weightSums;
+
+    /**
+     * Current size of the stack
+     */
+    private int size;
+
+    /**
+     * Initializes an empty stack with a maximum capacity.
+     *
+     * @param maxCapacity The maximum number of containers the stack can hold.
+     */
+    public ContainerStack(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+        this.containers = EMPTY_CONTAINERS;
+        this.weightSums = EMPTY_WEIGHT_SUMS;
+    }
+
+    /**
+     * Pushes a container onto the stack.
+     *
+     * @param container The container to be pushed onto the stack.
+     * @throws IllegalStateException if the stack is full.
+     */
+    public void push(Container container) {
+        if (size >= maxCapacity) {
+            throw new IllegalStateException("Stack is full");
+        }
+        if (size == containers.length) {
+            grow();
+        }
+        containers[size] = container;
+        weightSums[size] = size == 0 ? container.getWeight() : weightSums[size - 1] + container.getWeight();
+        size++;
+    }
+
+    /**
+     * Pops a container from the stack.
+     *
+     * @return The container at the top of the stack.
+     * @throws EmptyStackException if the stack is empty.
+     */
+    public Container pop() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+        Container container = containers[--size];
+        containers[size] = null; // Remove reference for GC
+        return container;
+    }
+
+    /**
+     * Peeks at the container at the top of the stack without removing it.
+     *
+     * @return The container at the top of the stack.
+     * @throws EmptyStackException if the stack is empty.
+     */
+    public Container peek() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+        return containers[size - 1];
+    }
+
+    /**
+     * Returns the container at the given level, counted from the bottom of the stack.
+     *
+     * @param level The level of the container.
+     * @return The container at that level.
+     * @throws IndexOutOfBoundsException if the level is not occupied.
+     */
+    public Container get(int level) {
+        if (level < 0 || level >= size) {
+            throw new IndexOutOfBoundsException("Level " + level + " out of bounds for stack of size " + size);
+        }
+        return containers[level];
+    }
+
+    /**
+     * Returns the total weight of all containers in the stack.
+     *
+     * @return The total weight.
+     */
+    public double getTotalWeight() {
+        return size == 0 ? 0 : weightSums[size - 1];
+    }
+
+    /**
+     * Checks if the stack is empty.
+     *
+     * @return true if the stack is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if the stack is full.
+     *
+     * @return true if the stack is full, false otherwise.
+     */
+    public boolean isFull() {
+        return size >= maxCapacity;
+    }
+
+    /**
+     * Returns the current size of the stack.
+     *
+     * @return The current size of the stack.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum capacity of the stack.
+     *
+     * @return The maximum capacity.
+     */
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * Doubles the backing arrays, without exceeding the maximum capacity.
+     */
+    private void grow() {
+        int newCapacity = containers.length == 0
+                ? Math.min(INITIAL_CAPACITY, maxCapacity)
+                : Math.min(containers.length * 2, maxCapacity);
+        containers = Arrays.copyOf(containers, newCapacity);
+        weightSums = Arrays.copyOf(weightSums, newCapacity);
+    }
+}
@@ -1,5 +1,7 @@
+import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -8,6 +10,16 @@ import java.util.UUID;
  */
 public class ContainerTerminal {
 
+    /**
+     * Lowest weight of a generated container in kilograms
+     */
+    public static final double MIN_WEIGHT = 12500;
+
+    /**
+     * Highest weight of a generated container in kilograms
+     */
+    public static final double MAX_WEIGHT = 32500;
+
     /**
      * Random number generator for generating container attributes
      */
@@ -27,6 +39,26 @@ public class ContainerTerminal {
      */
     private final int cols;
 
+    /**
+     * Index of all stored containers: container ID -> slot (row * cols + col)
+     */
+    private final Map<UUID, Integer> slotIndex;
+
+    /**
+     * Dense list of all free slots; the first freeSlotCount entries are valid
+     */
+    private final int[] freeSlots;
+
+    /**
+     * Position of every slot inside freeSlots, or -1 if the slot is occupied
+     */
+    private final int[] freeSlotPositions;
+
+    /**
+     * Number of free slots in the terminal
+     */
+    private int freeSlotCount;
+
     /**
      * Initializes a new container terminal with the given dimensions.
      * @param rows Number of rows in the terminal.
@@ -36,6 +68,14 @@ public class ContainerTerminal {
         this.rows = rows;
         this.cols = cols;
         this.grid = new Container[rows][cols];
+        this.slotIndex = new HashMap<>();
+        this.freeSlots = new int[rows * cols];
+        this.freeSlotPositions = new int[rows * cols];
+        for (int slot = 0; slot < freeSlots.length; slot++) {
+            freeSlots[slot] = slot;
+            freeSlotPositions[slot] = slot;
+        }
+        this.freeSlotCount = freeSlots.length;
     }
 
     /**
@@ -48,6 +88,9 @@ public class ContainerTerminal {
     public boolean addContainer(int row, int col, Container container) {
         if (grid[row][col] == null) {
             grid[row][col] = container;
+            int slot = row * cols + col;
+            slotIndex.put(container.getId(), slot);
+            markOccupied(slot);
             return true;
         }
         return false;
@@ -61,10 +104,43 @@ public class ContainerTerminal {
      */
     public Container removeContainer(int row, int col) {
         Container container = grid[row][col];
-        grid[row][col] = null;
+        if (container != null) {
+            grid[row][col] = null;
+            slotIndex.remove(container.getId());
+            markFree(row * cols + col);
+        }
         return container;
     }
 
+    /**
+     * Removes a slot from the free list by swapping the last free slot into its position.
+     * @param slot The slot that has been occupied.
+     */
+    private void markOccupied(int slot) {
+        int position = freeSlotPositions[slot];
+        int lastSlot = freeSlots[--freeSlotCount];
+        freeSlots[position] = lastSlot;
+        freeSlotPositions[lastSlot] = position;
+        freeSlotPositions[slot] = -1;
+    }
+
+    /**
+     * Appends a slot to the free list.
+     * @param slot The slot that has become free.
+     */
+    private void markFree(int slot) {
+        freeSlots[freeSlotCount] = slot;
+        freeSlotPositions[slot] = freeSlotCount++;
+    }
+
+    /**
+     * Returns the number of free slots in the terminal.
+     * @return The number of free slots.
+     */
+    public int getFreeSlotCount() {
+        return freeSlotCount;
+    }
+
     /**
      * Retrieves all containers in the terminal.
      * @return List of all containers in the terminal.
@@ -83,18 +159,19 @@ public class ContainerTerminal {
 
     /**
      * Places a specific number of random containers in the terminal.
+     * Every container is put into a uniformly drawn free slot, so each placement takes
+     * constant time regardless of how full the terminal already is.
      * @param numberOfContainers The number of containers to place.
+     * @throws IllegalArgumentException if the terminal does not have enough free slots.
      */
     public void placeRandomContainers(int numberOfContainers) {
-        int placedContainers = 0;
-        while (placedContainers < numberOfContainers) {
-            Container container = generateRandomContainer();
-            int row = RANDOM.nextInt(rows);
-            int col = RANDOM.nextInt(cols);
-
-            if (addContainer(row, col, container)) {
-                placedContainers++;
-            }
+        if (numberOfContainers > freeSlotCount) {
+            throw new IllegalArgumentException("Not enough free slots: requested " + numberOfContainers
+                    + ", available " + freeSlotCount);
+        }
+        for (int i = 0; i < numberOfContainers; i++) {
+            int slot = freeSlots[RANDOM.nextInt(freeSlotCount)];
+            addContainer(slot / cols, slot % cols, generateRandomContainer());
         }
     }
 
@@ -130,24 +207,47 @@ public class ContainerTerminal {
      * @return Weight of the container.
      */
     private double generateWeight() {
-        return  12500 + (20000 * RANDOM.nextDouble());
+        return MIN_WEIGHT + ((MAX_WEIGHT - MIN_WEIGHT) * RANDOM.nextDouble());
+    }
+
+    /**
+     * Retrieves a container by its ID without removing it.
+     * @param containerId The UUID of the container.
+     * @return The container, or null if no container was found.
+     */
+    public Container getContainerById(UUID containerId) {
+        Integer slot = slotIndex.get(containerId);
+        return slot != null ? grid[slot / cols][slot % cols] : null;
+    }
+
+    /**
+     * Checks whether a container with the given ID is stored in the terminal.
+     * @param containerId The UUID of the container.
+     * @return true if the container is stored in the terminal, false otherwise.
+     */
+    public boolean containsContainer(UUID containerId) {
+        return slotIndex.containsKey(containerId);
+    }
+
+    /**
+     * Returns the number of containers currently stored in the terminal.
+     * @return The number of stored containers.
+     */
+    public int getContainerCount() {
+        return slotIndex.size();
     }
 
     /**
      * Removes a container from the terminal by its ID.
+     * Uses the slot index, so the lookup takes constant time instead of scanning the grid.
      * @param containerId The UUID of the container to remove.
      * @return The removed container, or null if no container was found.
      */
     public Container removeContainerById(UUID containerId) {
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                Container container = grid[row][col];
-                if (container != null && container.getId().equals(containerId)) {
-                    grid[row][col] = null;
-                    return container;
-                }
-            }
+        Integer slot = slotIndex.get(containerId);
+        if (slot == null) {
+            return null;
         }
-        return null;
+        return removeContainer(slot / cols, slot % cols);
     }
 }
@@ -0,0 +1,222 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of integer ids in the range [0, capacity) keyed by primitive double values.
+ * Every id can be contained at most once; its key can be changed in place.
+ * No objects are allocated after construction.
+ */
+public class DoubleIndexHeap {
+    /**
+     * Ids in heap order
+     */
+    private final int[] heap;
+
+    /**
+     * Position of every id inside the heap, or -1 if the id is not contained
+     */
+    private final int[] positions;
+
+    /**
+     * Key of every id
+     */
+    private final double[] keys;
+
+    /**
+     * Current number of ids in the heap
+     */
+    private int size;
+
+    /**
+     * Creates an empty heap for ids in the range [0, capacity).
+     *
+     * @param capacity The number of distinct ids the heap can hold.
+     */
+    public DoubleIndexHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Adds an id with the given key.
+     *
+     * @param id  The id to add.
+     * @param key The key of the id.
+     * @throws IllegalStateException if the id is already contained.
+     */
+    public void add(int id, double key) {
+        if (positions[id] >= 0) {
+            throw new IllegalStateException("Id " + id + " is already in the heap");
+        }
+        keys[id] = key;
+        heap[size] = id;
+        positions[id] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Changes the key of a contained id and restores the heap order.
+     *
+     * @param id  The id whose key changes.
+     * @param key The new key.
+     * @throws NoSuchElementException if the id is not contained.
+     */
+    public void update(int id, double key) {
+        int position = positions[id];
+        if (position < 0) {
+            throw new NoSuchElementException("Id " + id + " is not in the heap");
+        }
+        double oldKey = keys[id];
+        keys[id] = key;
+        if (key < oldKey) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    /**
+     * Returns the id with the smallest key without removing it.
+     *
+     * @return The id with the smallest key.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the id with the smallest key.
+     *
+     * @return The id with the smallest key.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public int poll() {
+        int id = peek();
+        remove(id);
+        return id;
+    }
+
+    /**
+     * Removes an id from the heap if it is contained.
+     *
+     * @param id The id to remove.
+     */
+    public void remove(int id) {
+        int position = positions[id];
+        if (position < 0) {
+            return;
+        }
+        int last = heap[--size];
+        positions[id] = -1;
+        if (position < size) {
+            heap[position] = last;
+            positions[last] = position;
+            siftUp(position);
+            siftDown(positions[last]);
+        }
+    }
+
+    /**
+     * Checks whether an id is contained in the heap.
+     *
+     * @param id The id to check.
+     * @return true if the id is contained, false otherwise.
+     */
+    public boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    /**
+     * Returns the current key of an id.
+     *
+     * @param id The id.
+     * @return The key that was last set for the id.
+     */
+    public double keyOf(int id) {
+        return keys[id];
+    }
+
+    /**
+     * Returns the number of ids in the heap.
+     *
+     * @return The number of ids.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all ids from the heap.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Moves the id at the given position up until its parent has a smaller or equal key.
+     *
+     * @param position The heap position to start from.
+     */
+    private void siftUp(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    /**
+     * Moves the id at the given position down until both children have a larger or equal key.
+     *
+     * @param position The heap position to start from.
+     */
+    private void siftDown(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        int half = size >>> 1;
+        while (position < half) {
+            int childPosition = 2 * position + 1;
+            int child = heap[childPosition];
+            int rightPosition = childPosition + 1;
+            if (rightPosition < size && keys[heap[rightPosition]] < keys[child]) {
+                childPosition = rightPosition;
+                child = heap[childPosition];
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            heap[position] = child;
+            positions[child] = position;
+            position = childPosition;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Distributes one pool of containers across several ships and plans all ships concurrently.
+ * <p>
+ * If the pool is larger than the free slots of the fleet, the heaviest containers are loaded and the rest stay
+ * in the terminals. The containers are handed out heaviest first, each to the ship with the lowest weight per slot
+ * that still has room, which a {@link DoubleIndexHeap} finds in O(log S). Every ship thus gets a weight proportional
+ * to its capacity and a mix of heavy and light containers, so its own plan can be balanced.
+ * Afterwards the plan generator runs once per ship in parallel, and the whole fleet takes about as long as
+ * the slowest ship instead of the sum of all ships.
+ * <p>
+ * The generator is called from several threads at the same time, so it must not keep state between calls.
+ */
+public class FleetPlanner {
+    /**
+     * Generator creating the plan of every ship
+     */
+    private final LoadingPlanGenerator generator;
+
+    /**
+     * Executor running the planning of the ships
+     */
+    private final Executor executor;
+
+    /**
+     * Creates a fleet planner that plans the ships on the common ForkJoin pool.
+     *
+     * @param generator The generator creating the plan of every ship.
+     */
+    public FleetPlanner(LoadingPlanGenerator generator) {
+        this(generator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a fleet planner.
+     *
+     * @param generator The generator creating the plan of every ship.
+     * @param executor  The executor running the planning of the ships.
+     */
+    public FleetPlanner(LoadingPlanGenerator generator, Executor executor) {
+        this.generator = generator;
+        this.executor = executor;
+    }
+
+    /**
+     * Distributes the containers of several terminals across the ships and plans every ship.
+     *
+     * @param ships     The ships to be loaded, which are not modified.
+     * @param terminals The terminals holding the containers.
+     * @return One plan per ship, in the order of the ships.
+     */
+    public List<LoadingPlan> planFromTerminals(List<ContainerShip> ships, List<ContainerTerminal> terminals) {
+        List<Container> containers = new ArrayList<>();
+        for (ContainerTerminal terminal : terminals) {
+            containers.addAll(terminal.getAllContainers());
+        }
+        return plan(ships, containers);
+    }
+
+    /**
+     * Distributes the containers across the ships and plans every ship.
+     *
+     * @param ships      The ships to be loaded, which are not modified.
+     * @param containers The pool of containers, which is not modified.
+     * @return One plan per ship, in the order of the ships.
+     * @throws IllegalArgumentException if a ship occurs more than once.
+     */
+    public List<LoadingPlan> plan(List<ContainerShip> ships, List<Container> containers) {
+        return planShares(ships, distribute(ships, containers));
+    }
+
+    /**
+     * Plans every ship with its own share of containers, all ships concurrently.
+     *
+     * @param ships  The ships to be loaded, which are not modified.
+     * @param shares The containers of every ship, in the order of the ships.
+     * @return One plan per ship, in the order of the ships.
+     */
+    List<LoadingPlan> planShares(List<ContainerShip> ships, List<List<Container>> shares) {
+        List<CompletableFuture<LoadingPlan>> plans = new ArrayList<>(ships.size());
+        for (int i = 0; i < ships.size(); i++) {
+            ContainerShip ship = ships.get(i);
+            List<Container> share = shares.get(i);
+            plans.add(CompletableFuture.supplyAsync(() -> generator.generatePlan(ship, share), executor));
+        }
+        List<LoadingPlan> result = new ArrayList<>(ships.size());
+        for (CompletableFuture<LoadingPlan> plan : plans) {
+            result.add(Futures.await(plan));
+        }
+        return result;
+    }
+
+    /**
+     * Splits the pool into one share per ship. The heaviest containers are handed out first,
+     * each to the ship with the lowest weight per slot that still has room.
+     *
+     * @param ships      The ships to be loaded.
+     * @param containers The pool of containers.
+     * @return One share per ship, in the order of the ships, with the containers in descending weight order.
+     * @throws IllegalArgumentException if a ship occurs more than once.
+     */
+    static List<List<Container>> distribute(List<ContainerShip> ships, List<Container> containers) {
+        requireDistinct(ships);
+        FleetShares shares = new FleetShares(ships);
+        DoubleIndexHeap heap = new DoubleIndexHeap(ships.size());
+        for (int i = 0; i < ships.size(); i++) {
+            shares.offer(heap, i);
+        }
+
+        WeightOrder order = new WeightOrder(containers);
+        for (int rank = 0; rank < order.size() && !heap.isEmpty(); rank++) {
+            shares.assign(heap.peek(), order.getContainer(rank), order.getWeight(rank), heap);
+        }
+        return shares.getShares();
+    }
+
+    /**
+     * Checks that no ship occurs more than once.
+     *
+     * @param ships The ships.
+     * @throws IllegalArgumentException if a ship occurs more than once.
+     */
+    static void requireDistinct(List<ContainerShip> ships) {
+        Set<UUID> shipIds = new HashSet<>();
+        for (ContainerShip ship : ships) {
+            if (!shipIds.add(ship.getId())) {
+                throw new IllegalArgumentException("Ship " + ship.getId() + " occurs more than once");
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The shares of a container pool that are handed out to the ships of a fleet.
+ * <p>
+ * Tracks the capacity, the free slots and the weight of every ship, including the containers already on board.
+ * The key of a ship in a {@link DoubleIndexHeap} is its weight per slot, so the heap always returns the ship
+ * that is lightest relative to its size.
+ */
+final class FleetShares {
+    /**
+     * Number of slots of every ship
+     */
+    private final int[] capacities;
+
+    /**
+     * Number of free slots of every ship
+     */
+    private final int[] freeSlots;
+
+    /**
+     * Weight of every ship, including its share
+     */
+    private final double[] weights;
+
+    /**
+     * The containers handed out to every ship
+     */
+    private final List<List<Container>> shares;
+
+    /**
+     * Creates empty shares for the ships.
+     *
+     * @param ships The ships, which are not modified.
+     */
+    FleetShares(List<ContainerShip> ships) {
+        int shipCount = ships.size();
+        capacities = new int[shipCount];
+        freeSlots = new int[shipCount];
+        weights = new double[shipCount];
+        shares = new ArrayList<>(shipCount);
+        for (int i = 0; i < shipCount; i++) {
+            ContainerShip ship = ships.get(i);
+            for (int area = 0; area < ship.getStorageAreaCount(); area++) {
+                StorageArea storageArea = ship.getStorageArea(area);
+                capacities[i] += storageArea.getMaxStackSize();
+                freeSlots[i] += storageArea.getMaxStackSize() - storageArea.getContainerCount();
+            }
+            // Bereits geladene Container zählen zum Gewicht des Schiffes
+            weights[i] = ship.getTotalLeftWeight() + ship.getTotalRightWeight();
+            shares.add(new ArrayList<>(freeSlots[i]));
+        }
+    }
+
+    /**
+     * Adds a ship to a heap if it still has free slots.
+     *
+     * @param heap The heap.
+     * @param ship The index of the ship.
+     */
+    void offer(DoubleIndexHeap heap, int ship) {
+        if (freeSlots[ship] > 0) {
+            heap.add(ship, weights[ship] / capacities[ship]);
+        }
+    }
+
+    /**
+     * Hands a container to a ship and updates the ship's key in a heap,
+     * or removes the ship from the heap once it is full.
+     *
+     * @param ship      The index of the ship.
+     * @param container The container.
+     * @param weight    The weight of the container.
+     * @param heap      The heap holding the ship.
+     */
+    void assign(int ship, Container container, double weight, DoubleIndexHeap heap) {
+        shares.get(ship).add(container);
+        weights[ship] += weight;
+        if (--freeSlots[ship] == 0) {
+            heap.remove(ship);
+        } else {
+            heap.update(ship, weights[ship] / capacities[ship]);
+        }
+    }
+
+    /**
+     * Returns the containers handed out to every ship.
+     *
+     * @return One share per ship, in the order of the ships.
+     */
+    List<List<Container>> getShares() {
+        return shares;
+    }
+}
@@ -0,0 +1,36 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helpers for the {@link CompletableFuture}s that run the concurrent parts of planning and loading.
+ */
+final class Futures {
+
+    /**
+     * Not instantiable.
+     */
+    private Futures() {
+    }
+
+    /**
+     * Waits for a task to finish and rethrows its failure unwrapped, so callers see the same
+     * exception as if the task had run on their own thread.
+     *
+     * @param task The task.
+     * @param <T>  The type of the result.
+     * @return The result of the task.
+     */
+    static <T> T await(CompletableFuture<T> task) {
+        try {
+            return task.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
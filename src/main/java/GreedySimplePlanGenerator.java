@@ -5,29 +5,21 @@ import java.util.*;
  * Uses a greedy algorithm with a simple approach to balance the weight of containers across the ship.
  */
 public class GreedySimplePlanGenerator implements LoadingPlanGenerator {
-    /**
-     * Use the loadingManager to load the ship
-     */
-    private final LoadingManager loadingManager = new LoadingManager();
 
     /**
      * Generates a loading plan for the given container ship and list of containers.
-     * Writes the plan to a CSV file.
      *
-     * @param ship        The container ship to be loaded.
-     * @param containers  The list of containers to be loaded onto the ship.
-     * @param csvFilePath The path to the CSV file where the plan will be written.
+     * @param ship       The container ship to be loaded.
+     * @param containers The list of containers to be loaded onto the ship.
+     * @param sink       The sink receiving the rows of the plan.
      */
     @Override
-    public void generatePlan(ContainerShip ship, List<Container> containers, String csvFilePath) {
+    public void generatePlan(ContainerShip ship, List<Container> containers, LoadingPlanSink sink) {
         // Kopiere das Schiff mit einem Deep-Clone
         ContainerShip shipTemplate = ship.clone();
 
-        // Sortiere die Container nach dem Gewicht (abwaerts)
-        containers.sort(Comparator.comparing(Container::getWeight).reversed());
-
-        // Erstelle eine Map für den Ladeplan
-        Map<UUID, UUID> loadingPlan = new HashMap<>();
+        // Sortiere die Container nach dem Gewicht (abwaerts), die Liste des Aufrufers bleibt unverändert
+        WeightOrder order = new WeightOrder(containers);
 
         // Benutze lokale Variablen um das totale Gewicht von den linken und rechten Sektionen zu verfolgen
         double leftTotal = 0;
@@ -39,55 +31,51 @@ public class GreedySimplePlanGenerator implements LoadingPlanGenerator {
         List<Container> rightContainers = new ArrayList<>();
 
         // Iteriere durch jeden Container und überprüfe welche Seite des Schiffes weniger wiegt
-        for (Container container : containers) {
+        for (int rank = 0; rank < order.size(); rank++) {
             if (leftTotal < rightTotal) {
-                leftContainers.add(container);
-                leftTotal += container.getWeight();
+                leftContainers.add(order.getContainer(rank));
+                leftTotal += order.getWeight(rank);
             } else {
-                rightContainers.add(container);
-                rightTotal += container.getWeight();
+                rightContainers.add(order.getContainer(rank));
+                rightTotal += order.getWeight(rank);
             }
         }
 
         Iterator<Container> leftIterator = leftContainers.iterator();
 
-        while (leftIterator.hasNext()) {
-            // Go through the containers that should be placed on the left side of the ship and place them there
-            for (Section section : shipTemplate.getSections()) {
-                for (StorageArea storageArea : section.getLeftStorageAreas()) {
-                    while (storageArea.canAddContainer() && leftIterator.hasNext()) {
-                        Container container = leftIterator.next();
-                        // Add the container to the storage area
-                        storageArea.addContainer(container);
-                        // Add the combination of storage area uuid and container uuid to the plan
-                        loadingPlan.put(container.getId(), storageArea.getId());
-                        // Remove the reference to the container from the temporary list
-                        leftIterator.remove();
-                    }
-                }
+        // Go through the containers that should be placed on the left side of the ship and place them there.
+        // Containers that do not fit on this side any more stay in the terminal
+        for (int area = 0; area < shipTemplate.getStorageAreaCount(); area++) {
+            if (!shipTemplate.isLeftStorageArea(area)) {
+                continue;
+            }
+            StorageArea storageArea = shipTemplate.getStorageArea(area);
+            while (storageArea.canAddContainer() && leftIterator.hasNext()) {
+                Container container = leftIterator.next();
+                // Add the container to the storage area
+                storageArea.addContainer(container);
+                // Add the combination of container and storage area index to the plan
+                sink.add(container, area);
             }
         }
 
         Iterator<Container> rightIterator = rightContainers.iterator();
 
-        while (rightIterator.hasNext()) {
-            // Go through the containers that should be placed on the left side of the ship and place them there
-            for (Section section : shipTemplate.getSections()) {
-                for (StorageArea storageArea : section.getRightStorageAreas()) {
-                    while (storageArea.canAddContainer() && rightIterator.hasNext()) {
-                        Container container = rightIterator.next();
-                        // Add the container to the storage area
-                        storageArea.addContainer(container);
-                        // Add the combination of storage area uuid and container uuid to the plan
-                        loadingPlan.put(container.getId(), storageArea.getId());
-                        // Remove the reference to the container from the temporary list
-                        rightIterator.remove();
-                    }
-                }
+        // Go through the containers that should be placed on the right side of the ship and place them there.
+        // Containers that do not fit on this side any more stay in the terminal
+        for (int area = 0; area < shipTemplate.getStorageAreaCount(); area++) {
+            if (shipTemplate.isLeftStorageArea(area)) {
+                continue;
+            }
+            StorageArea storageArea = shipTemplate.getStorageArea(area);
+            while (storageArea.canAddContainer() && rightIterator.hasNext()) {
+                Container container = rightIterator.next();
+                // Add the container to the storage area
+                storageArea.addContainer(container);
+                // Add the combination of container and storage area index to the plan
+                sink.add(container, area);
             }
         }
-
-        loadingManager.writePlanToCSV(loadingPlan, csvFilePath);
     }
 
 }
@@ -0,0 +1,43 @@
+import java.util.List;
+
+/**
+ * Implements the LoadingPlanGenerator interface by improving the plan of another generator
+ * with a {@link SimulatedAnnealingPlanImprover}.
+ */
+public class ImprovingPlanGenerator implements LoadingPlanGenerator {
+    /**
+     * Generator creating the initial plan
+     */
+    private final LoadingPlanGenerator generator;
+
+    /**
+     * Improver applied to the initial plan
+     */
+    private final SimulatedAnnealingPlanImprover improver;
+
+    /**
+     * Creates a generator that improves the plans of another generator.
+     *
+     * @param generator The generator creating the initial plan.
+     * @param improver  The improver applied to the initial plan.
+     */
+    public ImprovingPlanGenerator(LoadingPlanGenerator generator, SimulatedAnnealingPlanImprover improver) {
+        this.generator = generator;
+        this.improver = improver;
+    }
+
+    /**
+     * Generates a loading plan with the wrapped generator and writes the improved plan into the sink.
+     *
+     * @param ship       The container ship to be loaded.
+     * @param containers The list of containers to be loaded onto the ship.
+     * @param sink       The sink receiving the rows of the plan.
+     */
+    @Override
+    public void generatePlan(ContainerShip ship, List<Container> containers, LoadingPlanSink sink) {
+        LoadingPlan improved = improver.improve(ship, generator.generatePlan(ship, containers));
+        for (int row = 0; row < improved.size(); row++) {
+            sink.add(improved.getContainer(row), improved.getStorageAreaIndex(row));
+        }
+    }
+}
@@ -0,0 +1,395 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps a loading plan up to date while containers are booked or cancelled after planning.
+ * <p>
+ * The planner holds the rows of the plan together with a {@link StorageAreaBalancer} that tracks the weight of
+ * every storage area and side. Withdrawn containers are taken out of their storage areas, new containers go to the
+ * lightest storage area on the lighter side. Afterwards a bounded number of repair moves brings the sides back
+ * into balance: a move shifts one container to the lighter side, a swap exchanges a container on the heavier side
+ * with a lighter one on the other side. All other rows keep their storage area, so a late change costs
+ * a few scans over the plan instead of a full re-plan.
+ */
+public class IncrementalPlanner {
+    /**
+     * Default maximum number of repair moves per change
+     */
+    public static final int DEFAULT_MAX_MOVES = 32;
+
+    /**
+     * Improvement of the balance value below which a repair move is not worth it
+     */
+    private static final double MIN_IMPROVEMENT = 1e-9;
+
+    /**
+     * Unique identifier of the ship the plan is created for
+     */
+    private final UUID shipId;
+
+    /**
+     * Simulated weight of every storage area and side
+     */
+    private final StorageAreaBalancer balancer;
+
+    /**
+     * Row of every planned container: container ID -> row
+     */
+    private final Map<UUID, Integer> rowById = new HashMap<>();
+
+    /**
+     * Container of every row, or null if the row was withdrawn
+     */
+    private Container[] containers;
+
+    /**
+     * Storage area index of every row
+     */
+    private int[] areas;
+
+    /**
+     * Container weight of every row, so the repair moves do not have to follow the container references
+     */
+    private double[] rowWeights;
+
+    /**
+     * Weights of the planned containers on the left side in ascending order
+     */
+    private final SortedWeights leftWeights = new SortedWeights();
+
+    /**
+     * Weights of the planned containers on the right side in ascending order
+     */
+    private final SortedWeights rightWeights = new SortedWeights();
+
+    /**
+     * Number of rows including withdrawn ones
+     */
+    private int rowCount;
+
+    /**
+     * Number of repair moves of the last change
+     */
+    private int lastMoveCount;
+
+    /**
+     * Creates a planner for an existing plan.
+     *
+     * @param ship        The ship the plan was created for, with the containers it already carries.
+     * @param loadingPlan The existing plan.
+     * @throws IllegalArgumentException if the plan was created for a different ship.
+     */
+    public IncrementalPlanner(ContainerShip ship, LoadingPlan loadingPlan) {
+        if (!ship.getId().equals(loadingPlan.getShipId())) {
+            throw new IllegalArgumentException("Loading plan was created for ship " + loadingPlan.getShipId()
+                    + ", not for ship " + ship.getId());
+        }
+        this.shipId = ship.getId();
+        this.balancer = new StorageAreaBalancer(ship);
+        this.containers = new Container[Math.max(loadingPlan.size(), 1)];
+        this.areas = new int[containers.length];
+        this.rowWeights = new double[containers.length];
+        for (int row = 0; row < loadingPlan.size(); row++) {
+            insert(append(loadingPlan.getContainer(row)), loadingPlan.getStorageAreaIndex(row));
+        }
+    }
+
+    /**
+     * Applies late bookings and cancellations with the default number of repair moves.
+     *
+     * @param added   The containers that were booked after planning.
+     * @param removed The IDs of the containers that were withdrawn.
+     * @return The updated plan.
+     */
+    public LoadingPlan replan(List<Container> added, Collection<UUID> removed) {
+        return replan(added, removed, DEFAULT_MAX_MOVES);
+    }
+
+    /**
+     * Applies late bookings and cancellations and repairs the balance with a bounded number of moves.
+     * Withdrawn containers that are not part of the plan are ignored, booked containers that no longer fit
+     * onto the ship are not planned and stay in the terminal.
+     *
+     * @param added    The containers that were booked after planning.
+     * @param removed  The IDs of the containers that were withdrawn.
+     * @param maxMoves The maximum number of repair moves.
+     * @return The updated plan.
+     */
+    public LoadingPlan replan(List<Container> added, Collection<UUID> removed, int maxMoves) {
+        for (UUID containerId : removed) {
+            Integer row = rowById.remove(containerId);
+            if (row != null) {
+                remove(row);
+                containers[row] = null;
+            }
+        }
+        for (Container container : added) {
+            if (rowById.containsKey(container.getId())) {
+                continue;
+            }
+            boolean left = balancer.getLeftWeight() < balancer.getRightWeight();
+            int area = balancer.peekLightestArea(left);
+            if (area < 0) {
+                area = balancer.peekLightestArea(!left);
+            }
+            if (area >= 0) {
+                insert(append(container), area);
+            }
+        }
+        lastMoveCount = repair(maxMoves);
+        return getPlan();
+    }
+
+    /**
+     * Returns the current plan. Rows keep the order in which they were planned.
+     *
+     * @return A new plan with all rows that were not withdrawn.
+     */
+    public LoadingPlan getPlan() {
+        LoadingPlan loadingPlan = new LoadingPlan(shipId, rowById.size());
+        for (int row = 0; row < rowCount; row++) {
+            if (containers[row] != null) {
+                loadingPlan.add(containers[row], areas[row]);
+            }
+        }
+        return loadingPlan;
+    }
+
+    /**
+     * Returns the balance value the ship will have after loading the current plan.
+     *
+     * @return The simulated balance value.
+     */
+    public double getBalanceValue() {
+        return balancer.getBalanceValue();
+    }
+
+    /**
+     * Returns the number of repair moves of the last change.
+     *
+     * @return The number of moves and swaps.
+     */
+    public int getLastMoveCount() {
+        return lastMoveCount;
+    }
+
+    /**
+     * Appends a row that is not placed yet, compacting the withdrawn rows first if the arrays are full.
+     *
+     * @param container The container.
+     * @return The new row.
+     */
+    private int append(Container container) {
+        if (rowCount == containers.length) {
+            compact();
+            if (rowCount * 2 > containers.length) {
+                containers = Arrays.copyOf(containers, containers.length * 2);
+                areas = Arrays.copyOf(areas, containers.length);
+                rowWeights = Arrays.copyOf(rowWeights, containers.length);
+            }
+        }
+        containers[rowCount] = container;
+        rowWeights[rowCount] = container.getWeight();
+        rowById.put(container.getId(), rowCount);
+        return rowCount++;
+    }
+
+    /**
+     * Removes the withdrawn rows from the arrays, keeping the order of the others.
+     */
+    private void compact() {
+        int live = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (containers[row] != null) {
+                containers[live] = containers[row];
+                areas[live] = areas[row];
+                rowWeights[live] = rowWeights[row];
+                rowById.put(containers[live].getId(), live);
+                live++;
+            }
+        }
+        Arrays.fill(containers, live, rowCount, null);
+        rowCount = live;
+    }
+
+    /**
+     * Moves or swaps containers between the sides until the balance cannot be improved or the moves are used up.
+     *
+     * @param maxMoves The maximum number of moves.
+     * @return The number of moves that were made.
+     */
+    private int repair(int maxMoves) {
+        int moves = 0;
+        while (moves < maxMoves) {
+            double difference = balancer.getLeftWeight() - balancer.getRightWeight();
+            boolean heavyLeft = difference > 0;
+            double absolute = Math.abs(difference);
+            SortedWeights heavy = heavyLeft ? leftWeights : rightWeights;
+            SortedWeights light = heavyLeft ? rightWeights : leftWeights;
+
+            // Bester einzelner Container, der auf die leichtere Seite wechselt: Gewicht möglichst nahe an der halben Differenz
+            double moveWeight = Double.NaN;
+            double moveResult = absolute;
+            if (heavy.size > 0 && balancer.peekLightestArea(!heavyLeft) >= 0) {
+                moveWeight = heavy.closest(absolute / 2);
+                moveResult = Math.abs(absolute - 2 * moveWeight);
+            }
+
+            // Bester Tausch: Gewichtsunterschied möglichst nahe an der halben Differenz, in einem Durchlauf über beide Seiten
+            double swapHeavy = Double.NaN;
+            double swapLight = Double.NaN;
+            double swapResult = absolute;
+            double target = absolute / 2;
+            int j = 0;
+            for (int i = 0; i < heavy.size && light.size > 0; i++) {
+                double weight = heavy.weights[i];
+                // Der Partner mit Gewicht nahe weight - target wandert mit weight nach oben
+                while (j + 1 < light.size && light.weights[j + 1] <= weight - target) {
+                    j++;
+                }
+                for (int k = j; k <= j + 1 && k < light.size; k++) {
+                    double result = Math.abs(absolute - 2 * (weight - light.weights[k]));
+                    if (result < swapResult) {
+                        swapResult = result;
+                        swapHeavy = weight;
+                        swapLight = light.weights[k];
+                    }
+                }
+            }
+
+            if (Math.min(moveResult, swapResult) > absolute - MIN_IMPROVEMENT) {
+                break;
+            }
+            if (moveResult <= swapResult) {
+                int row = findRow(heavyLeft, moveWeight);
+                remove(row);
+                insert(row, balancer.peekLightestArea(!heavyLeft));
+            } else {
+                int heavyRow = findRow(heavyLeft, swapHeavy);
+                int lightRow = findRow(!heavyLeft, swapLight);
+                int heavyArea = areas[heavyRow];
+                int lightArea = areas[lightRow];
+                remove(heavyRow);
+                remove(lightRow);
+                insert(heavyRow, lightArea);
+                insert(lightRow, heavyArea);
+            }
+            moves++;
+        }
+        return moves;
+    }
+
+    /**
+     * Puts the container of a row into a storage area of the simulation.
+     *
+     * @param row  The row.
+     * @param area The index of the storage area.
+     * @throws IllegalStateException if the storage area is full.
+     */
+    private void insert(int row, int area) {
+        balancer.add(area, rowWeights[row]);
+        areas[row] = area;
+        (balancer.isLeftSide(area) ? leftWeights : rightWeights).add(rowWeights[row]);
+    }
+
+    /**
+     * Takes the container of a row out of its storage area in the simulation.
+     *
+     * @param row The row.
+     */
+    private void remove(int row) {
+        int area = areas[row];
+        balancer.remove(area, rowWeights[row]);
+        (balancer.isLeftSide(area) ? leftWeights : rightWeights).remove(rowWeights[row]);
+    }
+
+    /**
+     * Finds a planned row on one side with exactly the given container weight.
+     *
+     * @param left   true for the left side, false for the right side.
+     * @param weight The weight of the container.
+     * @return The row.
+     * @throws IllegalStateException if there is no such row.
+     */
+    private int findRow(boolean left, double weight) {
+        for (int row = 0; row < rowCount; row++) {
+            if (rowWeights[row] == weight && containers[row] != null && balancer.isLeftSide(areas[row]) == left) {
+                return row;
+            }
+        }
+        throw new IllegalStateException("No container of weight " + weight + " on the " + (left ? "left" : "right") + " side");
+    }
+
+    /**
+     * The weights of the planned containers of one side in ascending order.
+     */
+    private static final class SortedWeights {
+        /**
+         * Weights in ascending order
+         */
+        private double[] weights = new double[16];
+
+        /**
+         * Number of weights
+         */
+        private int size;
+
+        /**
+         * Adds a weight, keeping the order.
+         *
+         * @param weight The weight.
+         */
+        private void add(double weight) {
+            if (size == weights.length) {
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            int index = Arrays.binarySearch(weights, 0, size, weight);
+            int insertion = index >= 0 ? index : -index - 1;
+            System.arraycopy(weights, insertion, weights, insertion + 1, size - insertion);
+            weights[insertion] = weight;
+            size++;
+        }
+
+        /**
+         * Removes one occurrence of a weight.
+         *
+         * @param weight The weight.
+         * @throws IllegalStateException if the weight is not contained.
+         */
+        private void remove(double weight) {
+            int index = Arrays.binarySearch(weights, 0, size, weight);
+            if (index < 0) {
+                throw new IllegalStateException("Weight " + weight + " is not planned on this side");
+            }
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+        }
+
+        /**
+         * Finds the weight closest to a target.
+         *
+         * @param target The target weight.
+         * @return The closest weight, the side must not be empty.
+         */
+        private double closest(double target) {
+            int index = Arrays.binarySearch(weights, 0, size, target);
+            if (index >= 0) {
+                return weights[index];
+            }
+            int insertion = -index - 1;
+            if (insertion == 0) {
+                return weights[0];
+            }
+            if (insertion == size) {
+                return weights[size - 1];
+            }
+            double below = weights[insertion - 1];
+            double above = weights[insertion];
+            return target - below <= above - target ? below : above;
+        }
+    }
+}
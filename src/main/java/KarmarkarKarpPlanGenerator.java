@@ -0,0 +1,136 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implements the LoadingPlanGenerator interface with the largest differencing method by Karmarkar and Karp.
+ * The containers are first split into two sets of nearly equal weight, then every set is stacked on its side of the ship.
+ * <p>
+ * Every node of the differencing holds a left and a right set of containers and the difference of their weights.
+ * The two nodes with the largest differences are repeatedly replaced by one node that puts the heavier set of each node
+ * on opposite sides, until a single node is left. The nodes are kept in a primitive max-heap and the sets in
+ * linked lists over int arrays, so the whole split runs in O(n log n).
+ * The differencing starts from pairs of consecutive containers in weight order, so both sets have the same
+ * number of containers (up to one) and fit into the equally sized sides of the ship.
+ */
+public class KarmarkarKarpPlanGenerator implements LoadingPlanGenerator {
+
+    /**
+     * Generates a loading plan for the given container ship and list of containers.
+     * If the ship cannot take all containers, the heaviest ones are loaded and the rest stay in the terminal.
+     *
+     * @param ship       The container ship to be loaded.
+     * @param containers The list of containers to be loaded onto the ship.
+     * @param sink       The sink receiving the rows of the plan.
+     */
+    @Override
+    public void generatePlan(ContainerShip ship, List<Container> containers, LoadingPlanSink sink) {
+        StorageAreaBalancer balancer = new StorageAreaBalancer(ship);
+        int freeSlots = 0;
+        for (int area = 0; area < ship.getStorageAreaCount(); area++) {
+            StorageArea storageArea = ship.getStorageArea(area);
+            freeSlots += storageArea.getMaxStackSize() - storageArea.getContainerCount();
+        }
+
+        // Sortiere eine Kopie, die Liste des Aufrufers bleibt unverändert
+        WeightOrder order = new WeightOrder(containers);
+        int count = Math.min(order.size(), freeSlots);
+        if (count == 0) {
+            return;
+        }
+
+        double[] weights = order.getWeights(count);
+        // Die schwerere Menge kommt auf die aktuell leichtere Seite des Schiffes
+        boolean[] heavierSet = split(weights);
+        boolean heavierLeft = balancer.getLeftWeight() <= balancer.getRightWeight();
+
+        // Innerhalb einer Seite absteigend auf den jeweils leichtesten Lagerbereich verteilen
+        for (int i = 0; i < count; i++) {
+            boolean left = heavierSet[i] == heavierLeft;
+            int area = balancer.placeOnSide(left, weights[i]);
+            if (area < 0) {
+                area = balancer.placeOnSide(!left, weights[i]);
+            }
+            sink.add(order.getContainer(i), area);
+        }
+    }
+
+    /**
+     * Splits weights into two sets with the largest differencing method.
+     *
+     * @param weights The weights in descending order.
+     * @return For every weight, true if it belongs to the heavier set and false if it belongs to the lighter set.
+     */
+    static boolean[] split(double[] weights) {
+        int count = weights.length;
+        int nodeCount = (count + 1) / 2;
+
+        // Verkettete Listen der Mengen: next verbindet die Gewichte, head/tail gehören zu den Knoten
+        int[] next = new int[count];
+        int[] heavyHead = new int[nodeCount];
+        int[] heavyTail = new int[nodeCount];
+        int[] lightHead = new int[nodeCount];
+        int[] lightTail = new int[nodeCount];
+        Arrays.fill(next, -1);
+
+        // Max-Heap über die Differenzen, als Min-Heap mit negierten Schlüsseln
+        DoubleIndexHeap heap = new DoubleIndexHeap(nodeCount);
+        for (int node = 0; node < nodeCount; node++) {
+            int heavy = 2 * node;
+            int light = heavy + 1;
+            heavyHead[node] = heavy;
+            heavyTail[node] = heavy;
+            if (light < count) {
+                lightHead[node] = light;
+                lightTail[node] = light;
+                heap.add(node, weights[light] - weights[heavy]);
+            } else {
+                lightHead[node] = -1;
+                lightTail[node] = -1;
+                heap.add(node, -weights[heavy]);
+            }
+        }
+
+        while (heap.size() > 1) {
+            int first = heap.poll();
+            double firstDifference = -heap.keyOf(first);
+            int second = heap.poll();
+            double secondDifference = -heap.keyOf(second);
+
+            // Die schwerere Menge des zweiten Knotens kommt zur leichteren Menge des ersten und umgekehrt
+            int heavyHeadOfFirst = heavyHead[first];
+            int heavyTailOfFirst = heavyTail[first];
+            heavyHead[first] = concat(heavyHeadOfFirst, heavyTailOfFirst, lightHead[second], next);
+            heavyTail[first] = lightTail[second] >= 0 ? lightTail[second] : heavyTailOfFirst;
+            int lightHeadOfFirst = lightHead[first];
+            int lightTailOfFirst = lightTail[first];
+            lightHead[first] = concat(lightHeadOfFirst, lightTailOfFirst, heavyHead[second], next);
+            lightTail[first] = heavyTail[second] >= 0 ? heavyTail[second] : lightTailOfFirst;
+
+            heap.add(first, secondDifference - firstDifference);
+        }
+
+        boolean[] heavierSet = new boolean[count];
+        int root = heap.peek();
+        for (int i = heavyHead[root]; i >= 0; i = next[i]) {
+            heavierSet[i] = true;
+        }
+        return heavierSet;
+    }
+
+    /**
+     * Appends one linked list to another.
+     *
+     * @param head      The head of the first list, or -1 if it is empty.
+     * @param tail      The tail of the first list, or -1 if it is empty.
+     * @param otherHead The head of the list to append, or -1 if it is empty.
+     * @param next      The links of all lists.
+     * @return The head of the joined list.
+     */
+    private static int concat(int head, int tail, int otherHead, int[] next) {
+        if (head < 0) {
+            return otherHead;
+        }
+        next[tail] = otherHead;
+        return head;
+    }
+}
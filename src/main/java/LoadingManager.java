@@ -1,4 +1,6 @@
-import java.io.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.UUID;
 
@@ -12,17 +14,60 @@ public class LoadingManager {
      *
      * @param loadingPlan  The loading plan to be written to the CSV file.
      * @param csvFilePath  The path to the CSV file where the plan will be written.
+     * @throws UncheckedIOException if the CSV file cannot be written.
      */
     public void writePlanToCSV(Map<UUID, UUID> loadingPlan, String csvFilePath) {
-        try (PrintWriter writer = new PrintWriter(new File(csvFilePath))) {
-            writer.write("ContainerUUID,StackUUID\n");  // Header line for the CSV file
+        try (PlanCsvWriter writer = new PlanCsvWriter(Path.of(csvFilePath), null)) {
             for (Map.Entry<UUID, UUID> entry : loadingPlan.entrySet()) {
-                writer.write(entry.getKey().toString() + "," + entry.getValue().toString() + "\n");
+                writer.writeRow(entry.getKey(), entry.getValue());
             }
-        } catch (FileNotFoundException e) {
-            // logging message
-            System.out.println("File not found");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write loading plan " + csvFilePath, e);
+        }
+    }
+
+    /**
+     * Writes an in-memory loading plan to a CSV file.
+     *
+     * @param loadingPlan The loading plan to be written to the CSV file.
+     * @param ship        The ship the plan was created for, used to resolve the storage area IDs.
+     * @param csvFilePath The path to the CSV file where the plan will be written.
+     * @throws UncheckedIOException if the CSV file cannot be written.
+     */
+    public void writePlanToCSV(LoadingPlan loadingPlan, ContainerShip ship, String csvFilePath) {
+        try (PlanCsvWriter writer = new PlanCsvWriter(Path.of(csvFilePath), ship)) {
+            for (int row = 0; row < loadingPlan.size(); row++) {
+                writer.add(loadingPlan.getContainer(row), loadingPlan.getStorageAreaIndex(row));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write loading plan " + csvFilePath, e);
         }
     }
 
+    /**
+     * Reads a loading plan from a CSV file.
+     * Rows whose container is not stored in the terminal or whose storage area does not exist on the ship are skipped.
+     * Malformed rows are reported with their line number and skipped as well.
+     *
+     * @param ship        The ship the plan was created for.
+     * @param terminal    The terminal where the containers are located.
+     * @param csvFilePath The path to the CSV file containing the loading plan.
+     * @return The loading plan.
+     */
+    public LoadingPlan readPlanFromCSV(ContainerShip ship, ContainerTerminal terminal, String csvFilePath) {
+        LoadingPlan loadingPlan = new LoadingPlan(ship.getId());
+        try {
+            new PlanCsvReader().read(Path.of(csvFilePath), (lineNumber, containerMsb, containerLsb, storageAreaMsb, storageAreaLsb) -> {
+                Container container = terminal.getContainerById(new UUID(containerMsb, containerLsb));
+                int storageAreaIndex = ship.getStorageAreaIndex(new UUID(storageAreaMsb, storageAreaLsb));
+                if (container != null && storageAreaIndex >= 0) {
+                    loadingPlan.add(container, storageAreaIndex);
+                }
+            });
+        } catch (IOException e) {
+            // logging message
+            System.out.println("Could not read loading plan " + csvFilePath + ": " + e.getMessage());
+        }
+        return loadingPlan;
+    }
 }
@@ -0,0 +1,154 @@
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * An in-memory loading plan for a container ship.
+ * Every row assigns a container to a storage area, which is referenced by its index in
+ * the ship's storage area layout (see {@link ContainerShip#getStorageArea(int)}).
+ * The rows are kept in the order in which they were added, which is the order in which they are loaded.
+ */
+public class LoadingPlan implements LoadingPlanSink {
+    /**
+     * Default number of rows the plan has room for before it grows
+     */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Unique identifier of the ship this plan was created for
+     */
+    private final UUID shipId;
+
+    /**
+     * Containers of all rows
+     */
+    private Container[] containers;
+
+    /**
+     * Storage area index of all rows
+     */
+    private int[] storageAreaIndices;
+
+    /**
+     * Number of rows in this plan
+     */
+    private int size;
+
+    /**
+     * Creates an empty loading plan for the given ship.
+     *
+     * @param shipId The UUID of the ship this plan is created for.
+     */
+    public LoadingPlan(UUID shipId) {
+        this(shipId, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty loading plan for the given ship with room for the expected number of rows.
+     *
+     * @param shipId           The UUID of the ship this plan is created for.
+     * @param expectedRowCount The number of rows the plan is expected to hold.
+     */
+    public LoadingPlan(UUID shipId, int expectedRowCount) {
+        this.shipId = shipId;
+        this.containers = new Container[Math.max(expectedRowCount, 1)];
+        this.storageAreaIndices = new int[containers.length];
+    }
+
+    /**
+     * Appends a row that assigns a container to a storage area.
+     *
+     * @param container        The container to be loaded.
+     * @param storageAreaIndex The index of the storage area in the ship's layout.
+     */
+    @Override
+    public void add(Container container, int storageAreaIndex) {
+        if (size == containers.length) {
+            int newCapacity = containers.length * 2;
+            containers = Arrays.copyOf(containers, newCapacity);
+            storageAreaIndices = Arrays.copyOf(storageAreaIndices, newCapacity);
+        }
+        containers[size] = container;
+        storageAreaIndices[size] = storageAreaIndex;
+        size++;
+    }
+
+    /**
+     * Appends all rows of another plan, keeping their order.
+     *
+     * @param other The plan whose rows are appended.
+     */
+    public void addAll(LoadingPlan other) {
+        int newSize = size + other.size;
+        if (newSize > containers.length) {
+            int newCapacity = Math.max(newSize, containers.length * 2);
+            containers = Arrays.copyOf(containers, newCapacity);
+            storageAreaIndices = Arrays.copyOf(storageAreaIndices, newCapacity);
+        }
+        System.arraycopy(other.containers, 0, containers, size, other.size);
+        System.arraycopy(other.storageAreaIndices, 0, storageAreaIndices, size, other.size);
+        size = newSize;
+    }
+
+    /**
+     * Gets the unique identifier of the ship this plan was created for.
+     *
+     * @return The UUID of the ship.
+     */
+    public UUID getShipId() {
+        return shipId;
+    }
+
+    /**
+     * Returns the number of rows in this plan.
+     *
+     * @return The number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the plan is empty.
+     *
+     * @return true if the plan has no rows, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the container of a row.
+     *
+     * @param row The index of the row.
+     * @return The container of the row.
+     * @throws IndexOutOfBoundsException if the row does not exist.
+     */
+    public Container getContainer(int row) {
+        return containers[checkRow(row)];
+    }
+
+    /**
+     * Returns the storage area index of a row.
+     *
+     * @param row The index of the row.
+     * @return The index of the storage area in the ship's layout.
+     * @throws IndexOutOfBoundsException if the row does not exist.
+     */
+    public int getStorageAreaIndex(int row) {
+        return storageAreaIndices[checkRow(row)];
+    }
+
+    /**
+     * Checks that a row exists.
+     *
+     * @param row The index of the row.
+     * @return The index of the row.
+     * @throws IndexOutOfBoundsException if the row does not exist.
+     */
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for plan of size " + size);
+        }
+        return row;
+    }
+}
@@ -1,18 +1,55 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
  * Defines the contract for generating a loading plan for a container ship.
- * Implementations should provide a way to generate a plan and write it to a CSV file.
+ * Implementations write the rows of the plan into a {@link LoadingPlanSink} as they are generated;
+ * the plan can be collected as an in-memory {@link LoadingPlan} or streamed into a CSV file.
+ * <p>
+ * Implementations only read the ship and the list of containers. They must not reorder or modify the list,
+ * because callers such as the {@link PortfolioPlanRunner} hand the same list to several generators at once.
  */
 public interface LoadingPlanGenerator {
 
+    /**
+     * Generates a loading plan for the given container ship and list of containers
+     * and writes its rows into the sink in loading order.
+     *
+     * @param ship       The container ship to be loaded.
+     * @param containers The list of containers to be loaded onto the ship, which is not modified.
+     * @param sink       The sink receiving the rows of the plan.
+     */
+    void generatePlan(ContainerShip ship, List<Container> containers, LoadingPlanSink sink);
+
+    /**
+     * Generates a loading plan for the given container ship and list of containers.
+     *
+     * @param ship       The container ship to be loaded.
+     * @param containers The list of containers to be loaded onto the ship.
+     * @return The loading plan.
+     */
+    default LoadingPlan generatePlan(ContainerShip ship, List<Container> containers) {
+        LoadingPlan loadingPlan = new LoadingPlan(ship.getId(), containers.size());
+        generatePlan(ship, containers, loadingPlan);
+        return loadingPlan;
+    }
+
     /**
      * Generates a loading plan for the given container ship and list of containers.
-     * Writes the plan to a CSV file.
+     * Streams the plan into a CSV file without collecting it in memory first.
      *
      * @param ship        The container ship to be loaded.
      * @param containers  The list of containers to be loaded onto the ship.
      * @param csvFilePath The path to the CSV file where the plan will be written.
+     * @throws UncheckedIOException if the CSV file cannot be written.
      */
-    void generatePlan(ContainerShip ship, List<Container> containers, String csvFilePath);
+    default void generatePlan(ContainerShip ship, List<Container> containers, String csvFilePath) {
+        try (PlanCsvWriter writer = new PlanCsvWriter(Path.of(csvFilePath), ship)) {
+            generatePlan(ship, containers, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
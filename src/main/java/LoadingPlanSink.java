@@ -0,0 +1,15 @@
+/**
+ * Receives the rows of a loading plan one at a time, in loading order.
+ * Plan generators write into a sink, so their output can be collected in memory, written to a file
+ * or handed on while the plan is still being generated.
+ */
+public interface LoadingPlanSink {
+
+    /**
+     * Accepts a row that assigns a container to a storage area.
+     *
+     * @param container        The container to be loaded.
+     * @param storageAreaIndex The index of the storage area in the ship's layout.
+     */
+    void add(Container container, int storageAreaIndex);
+}
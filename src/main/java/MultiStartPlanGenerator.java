@@ -0,0 +1,190 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Implements the LoadingPlanGenerator interface by running several randomized greedy constructions in parallel
+ * and keeping the best-balanced plan.
+ * <p>
+ * Every run places the containers in descending weight order on the lighter side of the ship, like
+ * {@link GreedyBalancingLoadingPlanGenerator}, but first perturbs that order by random swaps within a small window.
+ * Run 0 keeps the exact order, so the result is never worse than the plain greedy plan.
+ * Each run has its own {@link MersenneTwisterFast} seeded from the master seed and the run index, and simulates
+ * the ship with its own {@link StorageAreaBalancer}. The plan with the smallest balance value wins, ties go to the
+ * run with the lowest index, so the result only depends on the master seed and not on the number of threads.
+ */
+public class MultiStartPlanGenerator implements LoadingPlanGenerator {
+    /**
+     * Default number of runs
+     */
+    public static final int DEFAULT_RUNS = 16;
+
+    /**
+     * Probability with which a container is swapped with one of its successors
+     */
+    private static final double SWAP_PROBABILITY = 0.3;
+
+    /**
+     * Maximum distance between two swapped containers
+     */
+    private static final int SWAP_WINDOW = 8;
+
+    /**
+     * Odd constant used to derive the seeds of the runs from the master seed
+     */
+    private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Number of randomized runs
+     */
+    private final int runs;
+
+    /**
+     * Master seed from which the seeds of all runs are derived
+     */
+    private final long masterSeed;
+
+    /**
+     * Pool on which the runs are executed
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a generator with the default number of runs on the common ForkJoin pool.
+     *
+     * @param masterSeed The master seed from which the seeds of all runs are derived.
+     */
+    public MultiStartPlanGenerator(long masterSeed) {
+        this(DEFAULT_RUNS, masterSeed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param runs       The number of randomized runs.
+     * @param masterSeed The master seed from which the seeds of all runs are derived.
+     * @param pool       The pool on which the runs are executed.
+     * @throws IllegalArgumentException if the number of runs is not positive.
+     */
+    public MultiStartPlanGenerator(int runs, long masterSeed, ForkJoinPool pool) {
+        if (runs <= 0) {
+            throw new IllegalArgumentException("Number of runs must be positive");
+        }
+        this.runs = runs;
+        this.masterSeed = masterSeed;
+        this.pool = pool;
+    }
+
+    /**
+     * Generates a loading plan for the given container ship and list of containers.
+     *
+     * @param ship       The container ship to be loaded.
+     * @param containers The list of containers to be loaded onto the ship.
+     * @param sink       The sink receiving the rows of the plan.
+     */
+    @Override
+    public void generatePlan(ContainerShip ship, List<Container> containers, LoadingPlanSink sink) {
+        // Sortiere eine Kopie, die Liste des Aufrufers bleibt unverändert
+        WeightOrder sorted = new WeightOrder(containers);
+        double[] weights = sorted.getWeights(sorted.size());
+
+        List<ForkJoinTask<Run>> tasks = new ArrayList<>(runs);
+        for (int run = 0; run < runs; run++) {
+            int index = run;
+            tasks.add(pool.submit(() -> construct(ship, weights, index)));
+        }
+        Run best = null;
+        for (ForkJoinTask<Run> task : tasks) {
+            Run result = task.join();
+            // Bei Gleichstand gewinnt der Lauf mit dem kleineren Index
+            if (best == null || result.balanceValue < best.balanceValue) {
+                best = result;
+            }
+        }
+
+        for (int i = 0; i < best.placed; i++) {
+            sink.add(sorted.getContainer(best.order[i]), best.areas[i]);
+        }
+    }
+
+    /**
+     * Runs a single randomized greedy construction.
+     *
+     * @param ship    The container ship to be loaded.
+     * @param weights The weights of the containers in descending order.
+     * @param run     The index of the run.
+     * @return The result of the run.
+     */
+    private Run construct(ContainerShip ship, double[] weights, int run) {
+        int count = weights.length;
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        if (run > 0) {
+            MersenneTwisterFast random = new MersenneTwisterFast(masterSeed + SEED_INCREMENT * run);
+            for (int i = 0; i < count - 1; i++) {
+                if (random.nextBoolean(SWAP_PROBABILITY)) {
+                    int j = i + 1 + random.nextInt(Math.min(SWAP_WINDOW, count - 1 - i));
+                    int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                }
+            }
+        }
+
+        StorageAreaBalancer balancer = new StorageAreaBalancer(ship);
+        int[] areas = new int[count];
+        int placed = 0;
+        while (placed < count) {
+            int area = balancer.place(weights[order[placed]]);
+            if (area < 0) {
+                // Das Schiff ist voll, die restlichen Container bleiben im Terminal
+                break;
+            }
+            areas[placed++] = area;
+        }
+        return new Run(order, areas, placed, balancer.getBalanceValue());
+    }
+
+    /**
+     * The result of a single run.
+     */
+    private static final class Run {
+        /**
+         * Positions of the containers in the sorted array, in placement order
+         */
+        private final int[] order;
+
+        /**
+         * Storage area of every placed container, in placement order
+         */
+        private final int[] areas;
+
+        /**
+         * Number of containers that were placed
+         */
+        private final int placed;
+
+        /**
+         * Balance value of the ship after the run
+         */
+        private final double balanceValue;
+
+        /**
+         * Creates the result of a run.
+         *
+         * @param order        The positions of the containers in the sorted array, in placement order.
+         * @param areas        The storage area of every placed container.
+         * @param placed       The number of containers that were placed.
+         * @param balanceValue The balance value of the ship after the run.
+         */
+        private Run(int[] order, int[] areas, int placed, double balanceValue) {
+            this.order = order;
+            this.areas = areas;
+            this.placed = placed;
+            this.balanceValue = balanceValue;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.ToIntFunction;
+
+/**
+ * Plans containers one at a time while they arrive at the quay, without knowing the containers that follow.
+ * <p>
+ * Every container goes to the lightest storage area of the lighter side, found in O(log A) by a
+ * {@link StorageAreaBalancer}. Since no container is heavier than {@link ContainerTerminal#MAX_WEIGHT}, this keeps the
+ * difference between the sides at or below that weight after every container, as long as both sides have room.
+ * To keep both sides from running full at different times, a container may go to the side with more free slots
+ * instead, but only if the difference stays within the imbalance cap. The rows are handed to a
+ * {@link LoadingPlanSink} as soon as they are decided. Containers that arrive together can be planned as a micro-batch,
+ * heaviest first, which leaves a smaller difference at the end of the batch.
+ * <p>
+ * A planner is not thread-safe. When it subscribes to a publisher, the publisher calls it from one thread at a time.
+ */
+public class OnlineLoadingPlanner {
+    /**
+     * Simulated weight of every storage area and side
+     */
+    private final StorageAreaBalancer balancer;
+
+    /**
+     * Sink receiving the planned rows
+     */
+    private final LoadingPlanSink sink;
+
+    /**
+     * Largest difference between the sides that is accepted to even out the free slots of the sides
+     */
+    private final double imbalanceCap;
+
+    /**
+     * Number of containers that were planned
+     */
+    private int plannedCount;
+
+    /**
+     * Number of containers that did not fit onto the ship
+     */
+    private int rejectedCount;
+
+    /**
+     * Creates a planner that accepts a difference of up to {@link ContainerTerminal#MAX_WEIGHT} to even out
+     * the free slots, the same bound that placing on the lighter side guarantees anyway.
+     *
+     * @param ship The ship to be loaded, which is not modified.
+     * @param sink The sink receiving the planned rows.
+     */
+    public OnlineLoadingPlanner(ContainerShip ship, LoadingPlanSink sink) {
+        this(ship, sink, ContainerTerminal.MAX_WEIGHT);
+    }
+
+    /**
+     * Creates a planner.
+     *
+     * @param ship         The ship to be loaded, which is not modified.
+     * @param sink         The sink receiving the planned rows.
+     * @param imbalanceCap The largest difference between the sides that is accepted to even out the free slots,
+     *                     0 to always use the lighter side.
+     * @throws IllegalArgumentException if the imbalance cap is negative or above {@link ContainerTerminal#MAX_WEIGHT}.
+     */
+    public OnlineLoadingPlanner(ContainerShip ship, LoadingPlanSink sink, double imbalanceCap) {
+        if (!(imbalanceCap >= 0 && imbalanceCap <= ContainerTerminal.MAX_WEIGHT)) {
+            throw new IllegalArgumentException("Imbalance cap must be between 0 and " + ContainerTerminal.MAX_WEIGHT);
+        }
+        this.balancer = new StorageAreaBalancer(ship);
+        this.sink = sink;
+        this.imbalanceCap = imbalanceCap;
+    }
+
+    /**
+     * Plans a single container.
+     *
+     * @param container The container that arrived.
+     * @return The index of the chosen storage area, or -1 if the ship is full and the container stays in the terminal.
+     */
+    public int accept(Container container) {
+        double weight = container.getWeight();
+        double difference = balancer.getLeftWeight() - balancer.getRightWeight();
+        boolean left = difference <= 0;
+        if (balancer.getFreeSlotCount(left) < balancer.getFreeSlotCount(!left)
+                && Math.abs(difference) + weight <= imbalanceCap) {
+            // Die schwerere Seite hat mehr Platz und die Abweichung bleibt innerhalb der Grenze
+            left = !left;
+        }
+        int area = balancer.placeOnSide(left, weight);
+        if (area < 0) {
+            area = balancer.placeOnSide(!left, weight);
+        }
+        if (area < 0) {
+            rejectedCount++;
+            return -1;
+        }
+        sink.add(container, area);
+        plannedCount++;
+        return area;
+    }
+
+    /**
+     * Plans all containers of an iterator in the order in which it returns them.
+     *
+     * @param containers The containers that arrive.
+     * @return The number of containers of the iterator that were planned.
+     */
+    public int acceptAll(Iterator<? extends Container> containers) {
+        int planned = 0;
+        while (containers.hasNext()) {
+            if (accept(containers.next()) >= 0) {
+                planned++;
+            }
+        }
+        return planned;
+    }
+
+    /**
+     * Plans a micro-batch of containers that arrived together. The batch is planned heaviest first,
+     * so the light containers at its end can even out the difference the heavy ones left.
+     *
+     * @param batch The containers that arrived together, which is not modified.
+     * @return The number of containers of the batch that were planned.
+     */
+    public int acceptBatch(List<? extends Container> batch) {
+        WeightOrder sorted = new WeightOrder(batch);
+        int planned = 0;
+        for (int rank = 0; rank < sorted.size(); rank++) {
+            if (accept(sorted.getContainer(rank)) >= 0) {
+                planned++;
+            }
+        }
+        return planned;
+    }
+
+    /**
+     * Subscribes to a publisher of arriving containers and plans every container it publishes.
+     * Only one container is requested at a time, so a fast publisher is slowed down to the pace of the planner.
+     *
+     * @param publisher The publisher of the arriving containers.
+     * @return A future that completes with the number of planned containers when the publisher completes,
+     * or exceptionally when the publisher or the sink fails.
+     */
+    public CompletableFuture<Integer> subscribe(Flow.Publisher<? extends Container> publisher) {
+        PlanningSubscriber<Container> subscriber = new PlanningSubscriber<>(container -> accept(container) >= 0 ? 1 : 0);
+        publisher.subscribe(subscriber);
+        return subscriber.done;
+    }
+
+    /**
+     * Subscribes to a publisher of micro-batches and plans every batch with {@link #acceptBatch(List)}.
+     *
+     * @param publisher The publisher of the batches of arriving containers.
+     * @return A future that completes with the number of planned containers when the publisher completes,
+     * or exceptionally when the publisher or the sink fails.
+     */
+    public CompletableFuture<Integer> subscribeBatches(Flow.Publisher<? extends List<? extends Container>> publisher) {
+        PlanningSubscriber<List<? extends Container>> subscriber = new PlanningSubscriber<>(this::acceptBatch);
+        publisher.subscribe(subscriber);
+        return subscriber.done;
+    }
+
+    /**
+     * Returns the balance value the ship will have after loading all planned containers.
+     *
+     * @return The simulated balance value.
+     */
+    public double getBalanceValue() {
+        return balancer.getBalanceValue();
+    }
+
+    /**
+     * Returns the number of containers that were planned.
+     *
+     * @return The number of planned containers.
+     */
+    public int getPlannedCount() {
+        return plannedCount;
+    }
+
+    /**
+     * Returns the number of containers that did not fit onto the ship.
+     *
+     * @return The number of rejected containers.
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Plans the items of a publisher one at a time and reports the number of planned containers when it completes.
+     *
+     * @param <T> The type of the published items.
+     */
+    private static final class PlanningSubscriber<T> implements Flow.Subscriber<T> {
+        /**
+         * Completion with the number of planned containers
+         */
+        private final CompletableFuture<Integer> done = new CompletableFuture<>();
+
+        /**
+         * Plans an item and returns the number of planned containers
+         */
+        private final ToIntFunction<T> planner;
+
+        /**
+         * Subscription to the publisher
+         */
+        private Flow.Subscription subscription;
+
+        /**
+         * Number of containers planned through this subscription
+         */
+        private int planned;
+
+        /**
+         * Creates a subscriber.
+         *
+         * @param planner Plans an item and returns the number of planned containers.
+         */
+        private PlanningSubscriber(ToIntFunction<T> planner) {
+            this.planner = planner;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(T item) {
+            try {
+                planned += planner.applyAsInt(item);
+            } catch (RuntimeException | Error e) {
+                subscription.cancel();
+                done.completeExceptionally(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(planned);
+        }
+    }
+}
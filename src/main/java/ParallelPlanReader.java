@@ -0,0 +1,318 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reads loading plan CSV files on several threads.
+ * The file is split into byte ranges that start and end at line boundaries, every range is memory-mapped
+ * and parsed on a ForkJoin pool, and the partial plans are joined in file order. The rows of the resulting
+ * plan therefore keep their sequence number, so containers end up in the same stacking order as with
+ * the sequential {@link LoadingManager#readPlanFromCSV(ContainerShip, ContainerTerminal, String)}.
+ * While a plan is being read the ship and the terminal are only read, they must not be modified concurrently.
+ */
+public class ParallelPlanReader {
+    /**
+     * Default minimum size of a chunk in bytes, smaller files are read as a single chunk
+     */
+    static final int DEFAULT_MIN_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Maximum size of a chunk in bytes
+     */
+    private static final int MAX_CHUNK_SIZE = 1 << 28;
+
+    /**
+     * Number of chunks per worker thread, so that faster threads can take over the remaining work
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Size of the buffer used to search for line breaks at chunk boundaries
+     */
+    private static final int SCAN_BUFFER_SIZE = 4096;
+
+    /**
+     * Pool on which the chunks are parsed
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Minimum size of a chunk in bytes
+     */
+    private final int minChunkSize;
+
+    /**
+     * Creates a reader that parses on the common ForkJoin pool.
+     */
+    public ParallelPlanReader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a reader that parses on the given pool.
+     *
+     * @param pool The pool on which the chunks are parsed.
+     */
+    public ParallelPlanReader(ForkJoinPool pool) {
+        this(pool, DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a reader that parses on the given pool with a custom minimum chunk size.
+     *
+     * @param pool         The pool on which the chunks are parsed.
+     * @param minChunkSize The minimum size of a chunk in bytes.
+     */
+    ParallelPlanReader(ForkJoinPool pool, int minChunkSize) {
+        if (minChunkSize <= 0) {
+            throw new IllegalArgumentException("Minimum chunk size must be positive");
+        }
+        this.pool = pool;
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Reads a loading plan from a CSV file.
+     * Rows whose container is not stored in the terminal or whose storage area does not belong to the ship are skipped,
+     * malformed rows are reported with their line number in the file.
+     *
+     * @param ship     The ship the plan was created for.
+     * @param terminal The terminal where the containers are located.
+     * @param csvFile  The path to the CSV file containing the loading plan.
+     * @return The loading plan with its rows in file order.
+     * @throws IOException if the file cannot be read.
+     */
+    public LoadingPlan read(ContainerShip ship, ContainerTerminal terminal, Path csvFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ)) {
+            long[] bounds = splitIntoChunks(channel);
+            List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(bounds.length - 1);
+            for (int i = 0; i < bounds.length - 1; i++) {
+                long start = bounds[i];
+                long end = bounds[i + 1];
+                boolean first = i == 0;
+                tasks.add(pool.submit(() -> parseChunk(channel, start, end, first, ship, terminal)));
+            }
+
+            List<Chunk> chunks = new ArrayList<>(tasks.size());
+            int rowCount = 0;
+            for (ForkJoinTask<Chunk> task : tasks) {
+                Chunk chunk = await(task, tasks);
+                chunks.add(chunk);
+                rowCount += chunk.plan.size();
+            }
+
+            // Teilpläne in Dateireihenfolge zusammenfügen, damit die Reihenfolge je Stellplatz erhalten bleibt
+            LoadingPlan loadingPlan = new LoadingPlan(ship.getId(), rowCount);
+            long lineOffset = 0;
+            for (Chunk chunk : chunks) {
+                chunk.reportMalformedRows(lineOffset);
+                loadingPlan.addAll(chunk.plan);
+                lineOffset += chunk.lineCount;
+            }
+            return loadingPlan;
+        }
+    }
+
+    /**
+     * Splits the file into byte ranges that start at the beginning of a line.
+     *
+     * @param channel The channel of the file.
+     * @return The start offsets of all chunks, followed by the size of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    private long[] splitIntoChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long chunkSize = size / ((long) pool.getParallelism() * CHUNKS_PER_THREAD);
+        chunkSize = Math.min(Math.max(chunkSize, minChunkSize), MAX_CHUNK_SIZE);
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long position = chunkSize;
+        while (position < size) {
+            long lineStart = nextLineStart(channel, position);
+            if (lineStart >= size) {
+                break;
+            }
+            if (lineStart - bounds.get(bounds.size() - 1) > Integer.MAX_VALUE) {
+                throw new IOException("Line at byte " + bounds.get(bounds.size() - 1) + " is too long");
+            }
+            bounds.add(lineStart);
+            position = lineStart + chunkSize;
+        }
+        if (size - bounds.get(bounds.size() - 1) > Integer.MAX_VALUE) {
+            throw new IOException("Line at byte " + bounds.get(bounds.size() - 1) + " is too long");
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the first line that starts at or after the given position.
+     *
+     * @param channel  The channel of the file.
+     * @param position The position from which to search.
+     * @return The offset of the start of the line, or the size of the file if there is none.
+     * @throws IOException if the file cannot be read.
+     */
+    private static long nextLineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        // Beginnt die Suche beim Byte davor, ist eine Position direkt nach einem Zeilenumbruch selbst eine Grenze
+        long offset = position - 1;
+        while (true) {
+            scan.clear();
+            int read = channel.read(scan, offset);
+            if (read < 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+    }
+
+    /**
+     * Maps and parses a single chunk.
+     *
+     * @param channel  The channel of the file.
+     * @param start    The offset of the first byte of the chunk.
+     * @param end      The offset after the last byte of the chunk.
+     * @param first    true if the chunk starts with the header of the file.
+     * @param ship     The ship the plan was created for.
+     * @param terminal The terminal where the containers are located.
+     * @return The rows of the chunk.
+     * @throws IOException if the chunk cannot be mapped.
+     */
+    private static Chunk parseChunk(FileChannel channel, long start, long end, boolean first,
+                                    ContainerShip ship, ContainerTerminal terminal) throws IOException {
+        int length = (int) (end - start);
+        Chunk chunk = new Chunk(ship, terminal, length / (PlanCsvReader.ROW_LENGTH + 1) + 1);
+        if (length > 0) {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            chunk.lineCount = new PlanCsvReader().parseLines(bytes, 0, length, 1, first, chunk);
+        }
+        return chunk;
+    }
+
+    /**
+     * Waits for a chunk to be parsed. If parsing fails, the remaining chunks are cancelled.
+     *
+     * @param task  The task parsing the chunk.
+     * @param tasks All tasks of the file.
+     * @return The parsed chunk.
+     * @throws IOException if the chunk could not be read or the thread was interrupted.
+     */
+    private static Chunk await(ForkJoinTask<Chunk> task, List<ForkJoinTask<Chunk>> tasks) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            tasks.forEach(t -> t.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading loading plan");
+        } catch (ExecutionException e) {
+            tasks.forEach(t -> t.cancel(false));
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * The rows of a single chunk with line numbers relative to the start of the chunk.
+     */
+    private static final class Chunk implements PlanRowHandler {
+        /**
+         * Ship the plan was created for
+         */
+        private final ContainerShip ship;
+
+        /**
+         * Terminal where the containers are located
+         */
+        private final ContainerTerminal terminal;
+
+        /**
+         * Rows of the chunk in file order
+         */
+        private final LoadingPlan plan;
+
+        /**
+         * Line numbers of malformed rows within the chunk
+         */
+        private final List<Long> malformedLines = new ArrayList<>();
+
+        /**
+         * Descriptions of the malformed rows
+         */
+        private final List<String> malformedMessages = new ArrayList<>();
+
+        /**
+         * Number of lines in the chunk
+         */
+        private long lineCount;
+
+        /**
+         * Creates an empty chunk.
+         *
+         * @param ship             The ship the plan was created for.
+         * @param terminal         The terminal where the containers are located.
+         * @param expectedRowCount The number of rows the chunk is expected to hold.
+         */
+        private Chunk(ContainerShip ship, ContainerTerminal terminal, int expectedRowCount) {
+            this.ship = ship;
+            this.terminal = terminal;
+            this.plan = new LoadingPlan(ship.getId(), expectedRowCount);
+        }
+
+        @Override
+        public void onRow(long lineNumber, long containerMsb, long containerLsb, long storageAreaMsb, long storageAreaLsb) {
+            Container container = terminal.getContainerById(new UUID(containerMsb, containerLsb));
+            int storageAreaIndex = ship.getStorageAreaIndex(new UUID(storageAreaMsb, storageAreaLsb));
+            if (container != null && storageAreaIndex >= 0) {
+                plan.add(container, storageAreaIndex);
+            }
+        }
+
+        @Override
+        public void onMalformedRow(long lineNumber, String message) {
+            malformedLines.add(lineNumber);
+            malformedMessages.add(message);
+        }
+
+        /**
+         * Reports the malformed rows of the chunk with their line numbers in the file.
+         *
+         * @param lineOffset The number of lines in the file before this chunk.
+         */
+        private void reportMalformedRows(long lineOffset) {
+            for (int i = 0; i < malformedLines.size(); i++) {
+                PlanRowHandler.super.onMalformedRow(lineOffset + malformedLines.get(i), malformedMessages.get(i));
+            }
+        }
+    }
+}
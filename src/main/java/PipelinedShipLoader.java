@@ -0,0 +1,251 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Generates, writes and loads a loading plan as a pipeline.
+ * The generator runs on the calling thread and publishes its rows in batches through a bounded
+ * {@link SubmissionPublisher}. A loader stage applies every batch to the ship while the generator is still running,
+ * and an optional writer stage streams the rows into a CSV file. When a stage falls behind, its buffer fills up
+ * and the generator blocks until there is room again, so memory use stays bounded by the buffer size.
+ * Every stage receives the batches in the order in which they were generated, so the ship is loaded
+ * and the file is written exactly as in the sequential mode.
+ */
+public class PipelinedShipLoader {
+    /**
+     * Default number of rows per batch
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /**
+     * Default number of batches a stage may fall behind before the generator blocks
+     */
+    public static final int DEFAULT_BUFFER_CAPACITY = 64;
+
+    /**
+     * Executor running the loader and writer stages
+     */
+    private final Executor executor;
+
+    /**
+     * Number of rows per batch
+     */
+    private final int batchSize;
+
+    /**
+     * Number of batches a stage may fall behind before the generator blocks
+     */
+    private final int bufferCapacity;
+
+    /**
+     * Loader used to apply the batches to the ship
+     */
+    private final ShipLoader shipLoader = new ShipLoader();
+
+    /**
+     * Creates a pipeline that runs its stages on the common ForkJoin pool.
+     */
+    public PipelinedShipLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE, DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Creates a pipeline.
+     *
+     * @param executor       The executor running the loader and writer stages.
+     * @param batchSize      The number of rows per batch.
+     * @param bufferCapacity The number of batches a stage may fall behind before the generator blocks.
+     * @throws IllegalArgumentException if the batch size or the buffer capacity is not positive.
+     */
+    public PipelinedShipLoader(Executor executor, int batchSize, int bufferCapacity) {
+        if (batchSize <= 0 || bufferCapacity <= 0) {
+            throw new IllegalArgumentException("Batch size and buffer capacity must be positive");
+        }
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    /**
+     * Generates a loading plan and loads the ship while the plan is being generated.
+     * The generator plans on an empty copy of the ship, so the loader stage can fill the ship itself at the same time.
+     *
+     * @param generator   The generator creating the plan.
+     * @param ship        The empty ship to be loaded.
+     * @param terminal    The terminal where the containers are located.
+     * @param containers  The list of containers to be loaded onto the ship.
+     * @param csvFilePath The path to the CSV file where the plan will be written, or null to skip writing.
+     * @return The number of containers that were loaded.
+     * @throws IllegalArgumentException if the ship is not empty.
+     * @throws UncheckedIOException     if the CSV file cannot be written.
+     */
+    public int run(LoadingPlanGenerator generator, ContainerShip ship, ContainerTerminal terminal,
+                   List<Container> containers, String csvFilePath) {
+        if (ship.getContainerCount() > 0) {
+            throw new IllegalArgumentException("Pipelined loading requires an empty ship");
+        }
+        try (PlanCsvWriter writer = csvFilePath == null ? null : new PlanCsvWriter(Path.of(csvFilePath), ship)) {
+            CompletableFuture<Integer> loaded = new CompletableFuture<>();
+            CompletableFuture<Integer> written = new CompletableFuture<>();
+            try (SubmissionPublisher<LoadingPlan> publisher = new SubmissionPublisher<>(executor, bufferCapacity)) {
+                publisher.subscribe(new Stage(loaded) {
+                    @Override
+                    int process(LoadingPlan batch) {
+                        return shipLoader.loadShip(ship, terminal, batch);
+                    }
+                });
+                if (writer != null) {
+                    publisher.subscribe(new Stage(written) {
+                        @Override
+                        int process(LoadingPlan batch) {
+                            for (int row = 0; row < batch.size(); row++) {
+                                writer.add(batch.getContainer(row), batch.getStorageAreaIndex(row));
+                            }
+                            return batch.size();
+                        }
+                    });
+                } else {
+                    written.complete(0);
+                }
+
+                BatchingSink sink = new BatchingSink(ship, publisher);
+                try {
+                    generator.generatePlan(ship.clone(), containers, sink);
+                    sink.publish();
+                } catch (RuntimeException | Error e) {
+                    publisher.closeExceptionally(e);
+                    // Warten, bis keine Stufe mehr den Writer benutzt
+                    CompletableFuture.allOf(loaded, written).exceptionally(failure -> null).join();
+                    throw e;
+                }
+            }
+            // Erst wenn beide Stufen fertig sind, darf der Writer geschlossen werden
+            int result = Futures.await(loaded);
+            Futures.await(written);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Collects the rows of the generator into batches and publishes every full batch.
+     */
+    private final class BatchingSink implements LoadingPlanSink {
+        /**
+         * Ship the plan is created for
+         */
+        private final ContainerShip ship;
+
+        /**
+         * Publisher handing the batches to the stages
+         */
+        private final SubmissionPublisher<LoadingPlan> publisher;
+
+        /**
+         * Batch that is currently being filled
+         */
+        private LoadingPlan batch;
+
+        /**
+         * Creates a sink publishing to the given publisher.
+         *
+         * @param ship      The ship the plan is created for.
+         * @param publisher The publisher handing the batches to the stages.
+         */
+        private BatchingSink(ContainerShip ship, SubmissionPublisher<LoadingPlan> publisher) {
+            this.ship = ship;
+            this.publisher = publisher;
+            this.batch = new LoadingPlan(ship.getId(), batchSize);
+        }
+
+        @Override
+        public void add(Container container, int storageAreaIndex) {
+            batch.add(container, storageAreaIndex);
+            if (batch.size() == batchSize) {
+                publish();
+            }
+        }
+
+        /**
+         * Publishes the current batch, blocking while a stage's buffer is full.
+         */
+        private void publish() {
+            if (!batch.isEmpty()) {
+                publisher.submit(batch);
+                batch = new LoadingPlan(ship.getId(), batchSize);
+            }
+        }
+    }
+
+    /**
+     * A pipeline stage that processes one batch at a time and reports its result when the publisher is closed.
+     */
+    private abstract static class Stage implements Flow.Subscriber<LoadingPlan> {
+        /**
+         * Completion of the stage with the number of processed rows
+         */
+        private final CompletableFuture<Integer> done;
+
+        /**
+         * Subscription to the publisher
+         */
+        private Flow.Subscription subscription;
+
+        /**
+         * Number of rows processed so far
+         */
+        private int count;
+
+        /**
+         * Creates a stage.
+         *
+         * @param done The completion of the stage.
+         */
+        private Stage(CompletableFuture<Integer> done) {
+            this.done = done;
+        }
+
+        /**
+         * Processes a single batch.
+         *
+         * @param batch The batch of rows.
+         * @return The number of rows that were processed.
+         */
+        abstract int process(LoadingPlan batch);
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(LoadingPlan batch) {
+            try {
+                count += process(batch);
+            } catch (RuntimeException | Error e) {
+                subscription.cancel();
+                done.completeExceptionally(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(count);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads loading plan CSV files with rows of the fixed form "ContainerUUID,StackUUID".
+ * The file is read through a {@link FileChannel} into a reusable buffer and the UUIDs are hex-decoded
+ * straight from the bytes into two longs each, so no Strings or other objects are created per row.
+ * Instances are not thread-safe.
+ */
+public class PlanCsvReader {
+    /**
+     * Length of a UUID in its canonical text form
+     */
+    static final int UUID_LENGTH = 36;
+
+    /**
+     * Length of a row without the line break
+     */
+    static final int ROW_LENGTH = 2 * UUID_LENGTH + 1;
+
+    /**
+     * Size of the read buffer
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Value of every ASCII character as hex digit, or -1 if it is none
+     */
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        for (int i = 0; i < HEX_VALUES.length; i++) {
+            HEX_VALUES[i] = -1;
+        }
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    /**
+     * Reusable read buffer, allocated by the first call of {@link #read(Path, PlanRowHandler)}
+     * so instances that only parse lines of a mapped file do not pay for it
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Most significant bits of the last decoded UUID
+     */
+    private long decodedMsb;
+
+    /**
+     * Least significant bits of the last decoded UUID
+     */
+    private long decodedLsb;
+
+    /**
+     * Reads a loading plan file and passes every row to the handler. The first line is the header and is skipped.
+     *
+     * @param csvFile The path to the CSV file.
+     * @param handler The handler receiving the rows.
+     * @return The number of well-formed rows.
+     * @throws IOException if the file cannot be read.
+     */
+    public long read(Path csvFile, PlanRowHandler handler) throws IOException {
+        long rows = 0;
+        long lineNumber = 0;
+        boolean skippingLongLine = false;
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        buffer.clear();
+
+        try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ)) {
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                endOfFile = channel.read(buffer) < 0;
+                buffer.flip();
+                int lineStart = buffer.position();
+                int limit = buffer.limit();
+                for (int i = lineStart; i < limit; i++) {
+                    if (buffer.get(i) != '\n') {
+                        continue;
+                    }
+                    if (skippingLongLine) {
+                        skippingLongLine = false;
+                    } else if (parseLine(buffer, lineStart, i, ++lineNumber, lineNumber == 1, handler)) {
+                        rows++;
+                    }
+                    lineStart = i + 1;
+                }
+                if (endOfFile && lineStart < limit && !skippingLongLine) {
+                    // Letzte Zeile ohne Zeilenumbruch
+                    if (parseLine(buffer, lineStart, limit, ++lineNumber, lineNumber == 1, handler)) {
+                        rows++;
+                    }
+                    lineStart = limit;
+                }
+                buffer.position(lineStart);
+                buffer.compact();
+                if (!endOfFile && !buffer.hasRemaining()) {
+                    // Die Zeile passt nicht in den Puffer, sie ist in keinem Fall eine gültige Zeile
+                    handler.onMalformedRow(++lineNumber, "line is longer than " + BUFFER_SIZE + " bytes");
+                    buffer.clear();
+                    skippingLongLine = true;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Parses all lines of a buffer range that holds complete lines and passes the rows to the handler.
+     * The last line may end without a line break.
+     *
+     * @param bytes             The buffer holding the lines.
+     * @param from              The index of the first byte of the first line.
+     * @param to                The index after the last byte of the range.
+     * @param firstLineNumber   The line number of the first line in the range.
+     * @param firstLineIsHeader true if the first line of the range is the header of the file.
+     * @param handler           The handler receiving the rows.
+     * @return The number of lines in the range.
+     */
+    long parseLines(ByteBuffer bytes, int from, int to, long firstLineNumber, boolean firstLineIsHeader,
+                    PlanRowHandler handler) {
+        long lines = 0;
+        int lineStart = from;
+        for (int i = from; i < to; i++) {
+            if (bytes.get(i) == '\n') {
+                parseLine(bytes, lineStart, i, firstLineNumber + lines, firstLineIsHeader && lines == 0, handler);
+                lines++;
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < to) {
+            parseLine(bytes, lineStart, to, firstLineNumber + lines, firstLineIsHeader && lines == 0, handler);
+            lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * Parses a single line and passes it to the handler.
+     *
+     * @param bytes      The buffer holding the line.
+     * @param start      The index of the first byte of the line.
+     * @param end        The index after the last byte of the line, excluding the line break.
+     * @param lineNumber The line number, starting at 1 for the header.
+     * @param header     true if the line is the header of the file.
+     * @param handler    The handler receiving the row.
+     * @return true if the line was a well-formed row, false otherwise.
+     */
+    boolean parseLine(ByteBuffer bytes, int start, int end, long lineNumber, boolean header, PlanRowHandler handler) {
+        if (end > start && bytes.get(end - 1) == '\r') {
+            end--;
+        }
+        if (header || end == start) {
+            // Header line and empty lines carry no row
+            return false;
+        }
+        if (end - start != ROW_LENGTH) {
+            handler.onMalformedRow(lineNumber, "expected " + ROW_LENGTH + " characters but found " + (end - start));
+            return false;
+        }
+        if (bytes.get(start + UUID_LENGTH) != ',') {
+            handler.onMalformedRow(lineNumber, "expected ',' at column " + (UUID_LENGTH + 1));
+            return false;
+        }
+        if (!decodeUuid(bytes, start)) {
+            handler.onMalformedRow(lineNumber, "invalid container UUID");
+            return false;
+        }
+        long containerMsb = decodedMsb;
+        long containerLsb = decodedLsb;
+        if (!decodeUuid(bytes, start + UUID_LENGTH + 1)) {
+            handler.onMalformedRow(lineNumber, "invalid storage area UUID");
+            return false;
+        }
+        handler.onRow(lineNumber, containerMsb, containerLsb, decodedMsb, decodedLsb);
+        return true;
+    }
+
+    /**
+     * Decodes a UUID in canonical form (8-4-4-4-12 hex digits) into decodedMsb and decodedLsb.
+     *
+     * @param bytes  The buffer holding the UUID.
+     * @param offset The index of the first character of the UUID.
+     * @return true if the UUID is well-formed, false otherwise.
+     */
+    private boolean decodeUuid(ByteBuffer bytes, int offset) {
+        if (bytes.get(offset + 8) != '-' || bytes.get(offset + 13) != '-'
+                || bytes.get(offset + 18) != '-' || bytes.get(offset + 23) != '-') {
+            return false;
+        }
+        long msb = 0;
+        long lsb = 0;
+        boolean valid = true;
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                continue;
+            }
+            int character = bytes.get(offset + i);
+            int value = character >= 0 && character < HEX_VALUES.length ? HEX_VALUES[character] : -1;
+            valid &= value >= 0;
+            if (i < 18) {
+                msb = (msb << 4) | (value & 0xF);
+            } else {
+                lsb = (lsb << 4) | (value & 0xF);
+            }
+        }
+        decodedMsb = msb;
+        decodedLsb = lsb;
+        return valid;
+    }
+}
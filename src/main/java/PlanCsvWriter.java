@@ -0,0 +1,194 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Writes loading plan CSV files row by row.
+ * UUIDs are hex-encoded straight into a reusable byte buffer that is flushed through a {@link FileChannel}
+ * in large chunks, so writing a row creates no Strings or other objects.
+ * Instances are not thread-safe.
+ */
+public class PlanCsvWriter implements LoadingPlanSink, Closeable {
+    /**
+     * Header line of a loading plan CSV file
+     */
+    static final String HEADER = "ContainerUUID,StackUUID\n";
+
+    /**
+     * Size of the write buffer
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Hex digits used to encode UUIDs
+     */
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+
+    /**
+     * Channel of the CSV file
+     */
+    private final FileChannel channel;
+
+    /**
+     * Ship used to resolve storage area indices, or null if only UUID rows are written
+     */
+    private final ContainerShip ship;
+
+    /**
+     * Reusable write buffer
+     */
+    private final byte[] bytes = new byte[BUFFER_SIZE];
+
+    /**
+     * View of the write buffer for the channel
+     */
+    private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+    /**
+     * Number of bytes in the write buffer
+     */
+    private int position;
+
+    /**
+     * Number of rows written
+     */
+    private long rowCount;
+
+    /**
+     * Creates the CSV file, replacing an existing one, and writes the header line.
+     *
+     * @param csvFile The path to the CSV file.
+     * @param ship    The ship the plan is created for, used to resolve storage area indices; may be null
+     *                if only {@link #writeRow(long, long, long, long)} is used.
+     * @throws IOException if the file cannot be created.
+     */
+    public PlanCsvWriter(Path csvFile, ContainerShip ship) throws IOException {
+        this.channel = FileChannel.open(csvFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.ship = ship;
+        for (int i = 0; i < HEADER.length(); i++) {
+            bytes[position++] = (byte) HEADER.charAt(i);
+        }
+    }
+
+    /**
+     * Writes a row that assigns a container to a storage area of the ship.
+     *
+     * @param container        The container to be loaded.
+     * @param storageAreaIndex The index of the storage area in the ship's layout.
+     * @throws UncheckedIOException if the row cannot be written.
+     */
+    @Override
+    public void add(Container container, int storageAreaIndex) {
+        try {
+            writeRow(container.getId(), ship.getStorageArea(storageAreaIndex).getId());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a row.
+     *
+     * @param containerId   The UUID of the container.
+     * @param storageAreaId The UUID of the storage area.
+     * @throws IOException if the row cannot be written.
+     */
+    public void writeRow(UUID containerId, UUID storageAreaId) throws IOException {
+        writeRow(containerId.getMostSignificantBits(), containerId.getLeastSignificantBits(),
+                storageAreaId.getMostSignificantBits(), storageAreaId.getLeastSignificantBits());
+    }
+
+    /**
+     * Writes a row given by the two halves of both UUIDs.
+     *
+     * @param containerMsb   The most significant bits of the container UUID.
+     * @param containerLsb   The least significant bits of the container UUID.
+     * @param storageAreaMsb The most significant bits of the storage area UUID.
+     * @param storageAreaLsb The least significant bits of the storage area UUID.
+     * @throws IOException if the row cannot be written.
+     */
+    public void writeRow(long containerMsb, long containerLsb, long storageAreaMsb, long storageAreaLsb) throws IOException {
+        if (BUFFER_SIZE - position < PlanCsvReader.ROW_LENGTH + 1) {
+            flush();
+        }
+        encodeUuid(containerMsb, containerLsb);
+        bytes[position++] = ',';
+        encodeUuid(storageAreaMsb, storageAreaLsb);
+        bytes[position++] = '\n';
+        rowCount++;
+    }
+
+    /**
+     * Returns the number of rows written so far.
+     *
+     * @return The number of rows.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the buffered rows to the file.
+     *
+     * @throws IOException if the rows cannot be written.
+     */
+    public void flush() throws IOException {
+        buffer.clear().limit(position);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        position = 0;
+    }
+
+    /**
+     * Writes the buffered rows and closes the file.
+     *
+     * @throws IOException if the rows cannot be written or the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Encodes a UUID in canonical form (8-4-4-4-12 hex digits) into the buffer.
+     *
+     * @param msb The most significant bits of the UUID.
+     * @param lsb The least significant bits of the UUID.
+     */
+    private void encodeUuid(long msb, long lsb) {
+        encodeHex(msb >>> 32, 8);
+        bytes[position++] = '-';
+        encodeHex(msb >>> 16, 4);
+        bytes[position++] = '-';
+        encodeHex(msb, 4);
+        bytes[position++] = '-';
+        encodeHex(lsb >>> 48, 4);
+        bytes[position++] = '-';
+        encodeHex(lsb, 12);
+    }
+
+    /**
+     * Encodes the lowest digits of a value as hex digits into the buffer.
+     *
+     * @param value  The value.
+     * @param digits The number of hex digits to write.
+     */
+    private void encodeHex(long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            bytes[position + i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        position += digits;
+    }
+}
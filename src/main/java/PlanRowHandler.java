@@ -0,0 +1,28 @@
+/**
+ * Receives the rows of a loading plan file while it is being parsed.
+ * UUIDs are handed over as their two 64-bit halves, so parsing itself allocates no objects.
+ */
+public interface PlanRowHandler {
+
+    /**
+     * Called for every well-formed row of the plan.
+     *
+     * @param lineNumber      The line number of the row in the file, starting at 1 for the header.
+     * @param containerMsb    The most significant bits of the container UUID.
+     * @param containerLsb    The least significant bits of the container UUID.
+     * @param storageAreaMsb  The most significant bits of the storage area UUID.
+     * @param storageAreaLsb  The least significant bits of the storage area UUID.
+     */
+    void onRow(long lineNumber, long containerMsb, long containerLsb, long storageAreaMsb, long storageAreaLsb);
+
+    /**
+     * Called for every row that cannot be parsed. The row is skipped.
+     *
+     * @param lineNumber The line number of the row in the file, starting at 1 for the header.
+     * @param message    A description of the problem.
+     */
+    default void onMalformedRow(long lineNumber, String message) {
+        // logging message
+        System.out.println("Skipping malformed line " + lineNumber + " of loading plan: " + message);
+    }
+}
@@ -0,0 +1,202 @@
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Races all registered plan generators against the same containers and ship and returns the best-balanced plan.
+ * Every generator runs on its own thread. All generators share one unmodifiable view of the container list,
+ * so a generator that tries to reorder it fails instead of disturbing the others. Virtual threads are used
+ * where the JVM provides them, otherwise daemon platform threads. Generators that have not finished
+ * at the deadline are cancelled by interrupting their threads.
+ */
+public class PortfolioPlanRunner {
+    /**
+     * Registered generators by name, in registration order
+     */
+    private final Map<String, LoadingPlanGenerator> generators = new LinkedHashMap<>();
+
+    /**
+     * Creates a runner with all plan generators of this project.
+     *
+     * @return A new runner.
+     */
+    public static PortfolioPlanRunner withDefaultGenerators() {
+        return new PortfolioPlanRunner()
+                .register("GreedyBalancing", new GreedyBalancingLoadingPlanGenerator())
+                .register("GreedySimple", new GreedySimplePlanGenerator())
+                .register("KarmarkarKarp", new KarmarkarKarpPlanGenerator())
+                .register("MultiStart", new MultiStartPlanGenerator(0))
+                .register("BranchAndBound", new BranchAndBoundPlanGenerator());
+    }
+
+    /**
+     * Registers a generator.
+     *
+     * @param name      The unique name of the generator.
+     * @param generator The generator.
+     * @return This runner.
+     * @throws IllegalArgumentException if a generator with this name is already registered.
+     */
+    public PortfolioPlanRunner register(String name, LoadingPlanGenerator generator) {
+        if (generators.putIfAbsent(name, generator) != null) {
+            throw new IllegalArgumentException("Generator " + name + " is already registered");
+        }
+        return this;
+    }
+
+    /**
+     * Runs all registered generators concurrently and returns the best-balanced plan that was finished before the deadline.
+     * Ties go to the generator that was registered first. The plans are valid for the ship and all its clones.
+     *
+     * @param ship       The ship to be loaded, which is not modified.
+     * @param containers The list of containers to be loaded onto the ship, which is not modified.
+     * @param deadline   The time after which unfinished generators are cancelled.
+     * @return The result of the race.
+     * @throws IllegalStateException if no generator finished before the deadline.
+     */
+    public PortfolioResult run(ContainerShip ship, List<Container> containers, Duration deadline) {
+        List<String> names = new ArrayList<>(generators.keySet());
+        List<Container> shared = Collections.unmodifiableList(containers);
+        List<Callable<Timed>> tasks = new ArrayList<>(names.size());
+        for (String name : names) {
+            LoadingPlanGenerator generator = generators.get(name);
+            tasks.add(() -> {
+                long start = System.nanoTime();
+                try {
+                    return new Timed(generator.generatePlan(ship, shared), null, System.nanoTime() - start);
+                } catch (RuntimeException | Error e) {
+                    // Auch ein Error, etwa ein StackOverflowError einer tiefen Suche, betrifft nur diesen Generator
+                    return new Timed(null, e, System.nanoTime() - start);
+                }
+            });
+        }
+
+        List<Future<Timed>> futures;
+        ExecutorService executor = newExecutor();
+        try {
+            futures = executor.invokeAll(tasks, deadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the plan generators", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Duration> latencies = new LinkedHashMap<>();
+        Map<String, Double> balanceValues = new LinkedHashMap<>();
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        List<String> cancelled = new ArrayList<>();
+        String bestName = null;
+        LoadingPlan bestPlan = null;
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            Timed timed;
+            try {
+                timed = futures.get(i).get();
+            } catch (CancellationException e) {
+                cancelled.add(name);
+                continue;
+            } catch (ExecutionException e) {
+                failures.put(name, e.getCause());
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while collecting the plans", e);
+            }
+            latencies.put(name, Duration.ofNanos(timed.nanos));
+            if (timed.failure != null) {
+                failures.put(name, timed.failure);
+                continue;
+            }
+            double balanceValue = balanceValue(ship, timed.plan);
+            balanceValues.put(name, balanceValue);
+            if (bestPlan == null || balanceValue < balanceValues.get(bestName)) {
+                bestName = name;
+                bestPlan = timed.plan;
+            }
+        }
+        if (bestPlan == null) {
+            throw new IllegalStateException("No plan generator finished within " + deadline);
+        }
+        return new PortfolioResult(bestName, bestPlan, latencies, balanceValues, failures, cancelled);
+    }
+
+    /**
+     * Calculates the balance value the ship would have after loading the plan.
+     *
+     * @param ship        The ship the plan was created for.
+     * @param loadingPlan The plan.
+     * @return The absolute difference between the weight on the left and on the right side.
+     */
+    static double balanceValue(ContainerShip ship, LoadingPlan loadingPlan) {
+        double difference = ship.getTotalLeftWeight() - ship.getTotalRightWeight();
+        for (int row = 0; row < loadingPlan.size(); row++) {
+            double weight = loadingPlan.getContainer(row).getWeight();
+            difference += ship.isLeftStorageArea(loadingPlan.getStorageAreaIndex(row)) ? weight : -weight;
+        }
+        return Math.abs(difference);
+    }
+
+    /**
+     * Creates an executor with one virtual thread per task if the JVM supports virtual threads,
+     * otherwise with daemon platform threads, so cancelled generators never keep the JVM alive.
+     *
+     * @return A new executor.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "portfolio-plan-generator");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * The plan or the failure of a generator, with its latency.
+     */
+    private static final class Timed {
+        /**
+         * The generated plan, or null if the generator failed
+         */
+        private final LoadingPlan plan;
+
+        /**
+         * The exception or error of the generator, or null if it finished
+         */
+        private final Throwable failure;
+
+        /**
+         * The time the generator took in nanoseconds
+         */
+        private final long nanos;
+
+        /**
+         * Creates the outcome of a generator.
+         *
+         * @param plan    The generated plan, or null if the generator failed.
+         * @param failure The exception or error of the generator, or null if it finished.
+         * @param nanos   The time the generator took in nanoseconds.
+         */
+        private Timed(LoadingPlan plan, Throwable failure, long nanos) {
+            this.plan = plan;
+            this.failure = failure;
+            this.nanos = nanos;
+        }
+    }
+}
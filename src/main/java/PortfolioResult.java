@@ -0,0 +1,122 @@
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of a {@link PortfolioPlanRunner} race: the best-balanced plan and what every generator achieved.
+ */
+public class PortfolioResult {
+    /**
+     * Name of the generator that created the best plan
+     */
+    private final String bestGeneratorName;
+
+    /**
+     * The best-balanced plan
+     */
+    private final LoadingPlan bestPlan;
+
+    /**
+     * Latency of every generator that finished or failed before the deadline
+     */
+    private final Map<String, Duration> latencies;
+
+    /**
+     * Balance value of the plan of every generator that finished before the deadline
+     */
+    private final Map<String, Double> balanceValues;
+
+    /**
+     * Names of the generators that failed, with their exceptions
+     */
+    private final Map<String, Throwable> failures;
+
+    /**
+     * Names of the generators that were cancelled at the deadline
+     */
+    private final List<String> cancelledGenerators;
+
+    /**
+     * Creates the result of a race.
+     *
+     * @param bestGeneratorName   The name of the generator that created the best plan.
+     * @param bestPlan            The best-balanced plan.
+     * @param latencies           The latency of every generator that finished or failed.
+     * @param balanceValues       The balance value of every generator that finished.
+     * @param failures            The generators that failed, with their exceptions.
+     * @param cancelledGenerators The generators that were cancelled at the deadline.
+     */
+    PortfolioResult(String bestGeneratorName, LoadingPlan bestPlan, Map<String, Duration> latencies,
+                    Map<String, Double> balanceValues, Map<String, Throwable> failures, List<String> cancelledGenerators) {
+        this.bestGeneratorName = bestGeneratorName;
+        this.bestPlan = bestPlan;
+        this.latencies = Collections.unmodifiableMap(latencies);
+        this.balanceValues = Collections.unmodifiableMap(balanceValues);
+        this.failures = Collections.unmodifiableMap(failures);
+        this.cancelledGenerators = Collections.unmodifiableList(cancelledGenerators);
+    }
+
+    /**
+     * Returns the name of the generator that created the best plan.
+     *
+     * @return The name of the winning generator.
+     */
+    public String getBestGeneratorName() {
+        return bestGeneratorName;
+    }
+
+    /**
+     * Returns the best-balanced plan.
+     *
+     * @return The best plan.
+     */
+    public LoadingPlan getBestPlan() {
+        return bestPlan;
+    }
+
+    /**
+     * Returns the balance value of the best plan.
+     *
+     * @return The balance value of the best plan.
+     */
+    public double getBestBalanceValue() {
+        return balanceValues.get(bestGeneratorName);
+    }
+
+    /**
+     * Returns the latency of every generator that finished or failed before the deadline, in registration order.
+     *
+     * @return The latencies by generator name.
+     */
+    public Map<String, Duration> getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Returns the balance value of the plan of every generator that finished before the deadline, in registration order.
+     *
+     * @return The balance values by generator name.
+     */
+    public Map<String, Double> getBalanceValues() {
+        return balanceValues;
+    }
+
+    /**
+     * Returns the generators that failed, with their exceptions.
+     *
+     * @return The failures by generator name.
+     */
+    public Map<String, Throwable> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Returns the generators that did not finish before the deadline and were cancelled.
+     *
+     * @return The names of the cancelled generators.
+     */
+    public List<String> getCancelledGenerators() {
+        return cancelledGenerators;
+    }
+}
@@ -22,6 +22,21 @@ public class Section implements Cloneable {
      */
     private List<StorageArea> rightStorageAreas;
 
+    /**
+     * Running total of the weight on the left side of this section
+     */
+    private WeightTotal leftTotal = new WeightTotal();
+
+    /**
+     * Running total of the weight on the right side of this section
+     */
+    private WeightTotal rightTotal = new WeightTotal();
+
+    /**
+     * Ship this section belongs to, notified about every weight change
+     */
+    private ContainerShip ship;
+
     /**
      * Constructs a new Section with the specified number of storage areas and maximum stack size.
      *
@@ -36,6 +51,7 @@ public class Section implements Cloneable {
             leftStorageAreas.add(new StorageArea(maxStackSize));
             rightStorageAreas.add(new StorageArea(maxStackSize));
         }
+        attachStorageAreas();
     }
 
     /**
@@ -48,21 +64,78 @@ public class Section implements Cloneable {
     }
 
     /**
-     * Calculates the total weight of the left storage areas.
+     * Returns the total weight of the left storage areas.
+     * The value is maintained by the storage areas, so this is a constant-time read of a {@link WeightTotal}.
      *
      * @return The total weight of the left storage areas.
      */
     public double getLeftTotalWeight() {
-        return leftStorageAreas.stream().mapToDouble(StorageArea::getTotalWeight).sum();
+        return leftTotal.getWeight();
     }
 
     /**
-     * Calculates the total weight of the right storage areas.
+     * Returns the total weight of the right storage areas.
+     * The value is maintained by the storage areas, so this is a constant-time read of a {@link WeightTotal}.
      *
      * @return The total weight of the right storage areas.
      */
     public double getRightTotalWeight() {
-        return rightStorageAreas.stream().mapToDouble(StorageArea::getTotalWeight).sum();
+        return rightTotal.getWeight();
+    }
+
+    /**
+     * Updates the running totals after a container has been added to one of the storage areas.
+     *
+     * @param leftSide true if the container was added on the left side.
+     * @param weight   The weight of the added container.
+     */
+    void onContainerAdded(boolean leftSide, double weight) {
+        if (leftSide) {
+            leftTotal.add(weight);
+        } else {
+            rightTotal.add(weight);
+        }
+        if (ship != null) {
+            ship.onContainerAdded(leftSide, weight);
+        }
+    }
+
+    /**
+     * Updates the running totals after a container has been removed from one of the storage areas.
+     *
+     * @param leftSide true if the container was removed from the left side.
+     * @param weight   The weight of the removed container.
+     */
+    void onContainerRemoved(boolean leftSide, double weight) {
+        if (leftSide) {
+            leftTotal.remove(weight);
+        } else {
+            rightTotal.remove(weight);
+        }
+        if (ship != null) {
+            ship.onContainerRemoved(leftSide, weight);
+        }
+    }
+
+    /**
+     * Attaches this section to the ship that owns it, so weight changes are propagated.
+     *
+     * @param ship The owning ship.
+     */
+    void attachTo(ContainerShip ship) {
+        this.ship = ship;
+    }
+
+    /**
+     * Attaches all storage areas to this section.
+     */
+    private void attachStorageAreas() {
+        for (StorageArea storageArea : leftStorageAreas) {
+            storageArea.attachTo(this, true);
+        }
+        for (StorageArea storageArea : rightStorageAreas) {
+            storageArea.attachTo(this, false);
+        }
     }
 
     /**
@@ -104,12 +177,14 @@ public class Section implements Cloneable {
     }
 
     /**
-     * Returns a list containing all storage areas in the section.
+     * Returns a new list containing all storage areas in the section.
+     * Hot paths should iterate over the flat storage area index of {@link ContainerShip} instead,
+     * which does not allocate.
      *
      * @return The list of all storage areas.
      */
     public List<StorageArea> getAllStorageAreas() {
-        List<StorageArea> allStorageAreas = new ArrayList<>();
+        List<StorageArea> allStorageAreas = new ArrayList<>(leftStorageAreas.size() + rightStorageAreas.size());
         allStorageAreas.addAll(leftStorageAreas);
         allStorageAreas.addAll(rightStorageAreas);
         return allStorageAreas;
@@ -132,6 +207,11 @@ public class Section implements Cloneable {
             for (StorageArea storageArea : rightStorageAreas) {
                 clone.rightStorageAreas.add(storageArea.clone());
             }
+            // Die geklonten Lagerbereiche sind leer, daher beginnen auch die Summen bei 0
+            clone.leftTotal = new WeightTotal();
+            clone.rightTotal = new WeightTotal();
+            clone.ship = null;
+            clone.attachStorageAreas();
             return clone;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError();
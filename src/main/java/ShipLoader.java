@@ -1,15 +1,148 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
- * Responsible for loading containers onto a ship from a terminal based on a CSV file.
+ * Responsible for loading containers onto a ship from a terminal based on a loading plan.
  */
 public class ShipLoader {
 
+    /**
+     * Executor running the cranes, one daemon thread per crane that is currently working
+     */
+    private static final Executor CRANE_EXECUTOR = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "crane");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Use the loadingManager to read plans from CSV files
+     */
+    private final LoadingManager loadingManager = new LoadingManager();
+
+    /**
+     * Loads containers from a terminal onto a ship based on an in-memory loading plan.
+     * Rows whose container is no longer stored in the terminal are skipped, as are rows whose storage area is
+     * already full; their containers stay in the terminal.
+     *
+     * @param ship        The ship to be loaded.
+     * @param terminal    The terminal where the containers are located.
+     * @param loadingPlan The loading plan created for this ship.
+     * @return The number of containers that were loaded.
+     * @throws IllegalArgumentException if the plan was created for a different ship.
+     */
+    public int loadShip(ContainerShip ship, ContainerTerminal terminal, LoadingPlan loadingPlan) {
+        if (!ship.getId().equals(loadingPlan.getShipId())) {
+            throw new IllegalArgumentException("Loading plan was created for ship " + loadingPlan.getShipId()
+                    + ", not for ship " + ship.getId());
+        }
+
+        int loaded = 0;
+        for (int row = 0; row < loadingPlan.size(); row++) {
+            StorageArea storageArea = ship.getStorageArea(loadingPlan.getStorageAreaIndex(row));
+            if (!storageArea.canAddContainer()) {
+                continue;
+            }
+            Container container = terminal.removeContainerById(loadingPlan.getContainer(row).getId());
+            if (container != null && storageArea.addContainer(container)) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Loads containers from a terminal onto a ship with several cranes working in parallel.
+     * The containers are taken out of the terminal first, then every crane stacks the rows of its own sections
+     * on a separate thread, crane k working the sections whose index modulo the number of cranes is k.
+     * Each section and each storage area is thus touched by a single crane only and stacked in the order of the plan,
+     * exactly as in {@link #loadShip(ContainerShip, ContainerTerminal, LoadingPlan)}. This partitioning is what makes
+     * the parallel loading safe without locks; only the weight totals of the ship are shared by all cranes, and
+     * {@link WeightTotal} takes concurrent updates. The ship must not be modified otherwise while it is loaded.
+     * Rows whose container is no longer stored in the terminal are skipped, as are rows whose storage area is
+     * already full; their containers stay in the terminal.
+     *
+     * @param ship        The ship to be loaded.
+     * @param terminal    The terminal where the containers are located.
+     * @param loadingPlan The loading plan created for this ship.
+     * @param cranes      The number of cranes.
+     * @return The number of containers that were loaded.
+     * @throws IllegalArgumentException if the plan was created for a different ship or the number of cranes is not positive.
+     */
+    public int loadShip(ContainerShip ship, ContainerTerminal terminal, LoadingPlan loadingPlan, int cranes) {
+        if (!ship.getId().equals(loadingPlan.getShipId())) {
+            throw new IllegalArgumentException("Loading plan was created for ship " + loadingPlan.getShipId()
+                    + ", not for ship " + ship.getId());
+        }
+        if (cranes <= 0) {
+            throw new IllegalArgumentException("Number of cranes must be positive");
+        }
+
+        // Das Terminal ist nicht threadsicher, daher werden die Container vorab auf diesem Thread entnommen
+        // und gleich nach Kran aufgeteilt, die Reihenfolge des Plans bleibt je Kran erhalten
+        int[][] craneRows = new int[cranes][loadingPlan.size() / cranes + 1];
+        int[] craneRowCounts = new int[cranes];
+        int[] freeSlots = freeSlots(ship);
+        Container[] staged = new Container[loadingPlan.size()];
+        for (int row = 0; row < loadingPlan.size(); row++) {
+            int area = loadingPlan.getStorageAreaIndex(row);
+            if (freeSlots[area] == 0) {
+                // Kein Platz mehr, der Container bleibt im Terminal
+                continue;
+            }
+            staged[row] = terminal.removeContainerById(loadingPlan.getContainer(row).getId());
+            if (staged[row] != null) {
+                freeSlots[area]--;
+                int crane = ship.getSectionIndex(area) % cranes;
+                if (craneRowCounts[crane] == craneRows[crane].length) {
+                    craneRows[crane] = Arrays.copyOf(craneRows[crane], craneRows[crane].length * 2);
+                }
+                craneRows[crane][craneRowCounts[crane]++] = row;
+            }
+        }
+
+        List<CompletableFuture<Integer>> craneTasks = new ArrayList<>(cranes);
+        for (int crane = 0; crane < cranes; crane++) {
+            int[] rows = craneRows[crane];
+            int rowCount = craneRowCounts[crane];
+            craneTasks.add(CompletableFuture.supplyAsync(() -> {
+                int stacked = 0;
+                for (int i = 0; i < rowCount; i++) {
+                    if (ship.getStorageArea(loadingPlan.getStorageAreaIndex(rows[i])).addContainer(staged[rows[i]])) {
+                        stacked++;
+                    }
+                }
+                return stacked;
+            }, CRANE_EXECUTOR));
+        }
+        int loaded = 0;
+        for (CompletableFuture<Integer> craneTask : craneTasks) {
+            loaded += Futures.await(craneTask);
+        }
+        return loaded;
+    }
+
+    /**
+     * Counts the free slots of every storage area of a ship.
+     *
+     * @param ship The ship.
+     * @return The number of free slots, indexed like the storage areas of the ship.
+     */
+    static int[] freeSlots(ContainerShip ship) {
+        int[] freeSlots = new int[ship.getStorageAreaCount()];
+        for (int area = 0; area < freeSlots.length; area++) {
+            StorageArea storageArea = ship.getStorageArea(area);
+            freeSlots[area] = storageArea.getMaxStackSize() - storageArea.getContainerCount();
+        }
+        return freeSlots;
+    }
+
     /**
      * Loads containers from a terminal onto a ship based on a CSV file.
      *
@@ -18,40 +151,30 @@ public class ShipLoader {
      * @param csvFilePath The path to the CSV file containing the loading plan.
      */
     public void loadShipFromCSV(ContainerShip ship, ContainerTerminal terminal, String csvFilePath) {
-        // Map to hold the loading plan: Container ID -> Storage Area ID
-        Map<UUID, UUID> loadingPlan = new HashMap<>();
-
-        // Step 1: Read the CSV file to populate the loading plan
-        try (BufferedReader reader = new BufferedReader(new FileReader(csvFilePath))) {
-            String line;
-            reader.readLine(); // Skip the header line
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                UUID containerId = UUID.fromString(parts[0]);
-                UUID storageAreaId = UUID.fromString(parts[1]);
-                loadingPlan.put(containerId, storageAreaId);
-            }
+        LoadingPlan loadingPlan = loadingManager.readPlanFromCSV(ship, terminal, csvFilePath);
+        loadShip(ship, terminal, loadingPlan);
+    }
+
+    /**
+     * Loads containers from a terminal onto a ship based on a CSV file that is parsed on several threads.
+     * The rows are applied in the order of the file, so every storage area is stacked as with
+     * {@link #loadShipFromCSV(ContainerShip, ContainerTerminal, String)}.
+     *
+     * @param ship        The ship to be loaded.
+     * @param terminal    The terminal where the containers are located.
+     * @param csvFilePath The path to the CSV file containing the loading plan.
+     * @param reader      The reader that parses the file in parallel.
+     * @return The number of containers that were loaded.
+     */
+    public int loadShipFromCSV(ContainerShip ship, ContainerTerminal terminal, String csvFilePath, ParallelPlanReader reader) {
+        LoadingPlan loadingPlan;
+        try {
+            loadingPlan = reader.read(ship, terminal, Path.of(csvFilePath));
         } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        // Step 2: Move containers from the terminal to the ship based on the loading plan
-        for (Map.Entry<UUID, UUID> entry : loadingPlan.entrySet()) {
-            UUID containerId = entry.getKey();
-            UUID storageAreaId = entry.getValue();
-
-            // Assume that such a method exists in the ContainerTerminal class
-            Container container = terminal.removeContainerById(containerId);
-            if (container != null) {
-                for (Section section : ship.getSections()) {
-                    for (StorageArea storageArea : section.getAllStorageAreas()) {
-                        if (storageArea.getId().equals(storageAreaId)) {
-                            storageArea.addContainer(container);
-                            break;
-                        }
-                    }
-                }
-            }
+            // logging message
+            System.out.println("Could not read loading plan " + csvFilePath + ": " + e.getMessage());
+            return 0;
         }
+        return loadShip(ship, terminal, loadingPlan);
     }
 }
@@ -0,0 +1,426 @@
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Improves an existing loading plan by simulated annealing within a fixed time budget.
+ * <p>
+ * The search either moves a container to another storage area with room or swaps the storage areas of two containers.
+ * It minimizes the imbalance between the left and the right side of the ship plus the weighted sum of the imbalances
+ * of all sections, as computed by {@link #cost(ContainerShip, double)}. Since a step changes the weight of at most two
+ * storage areas, its effect on both terms is computed in O(1) from the running side and section totals. The totals
+ * are kept in the fixed point of {@link WeightTotal}, so they do not drift over millions of steps and the cost of
+ * the current plan is always exact. Worse steps are accepted with a probability that decreases while the budget
+ * runs out, which lets the search leave local minima early and converge at the end.
+ * <p>
+ * The search stops when the budget is used up, when the plan is perfectly balanced, when the cooled search
+ * has not taken a single step for a long time or when the thread is interrupted. In every case the best plan found
+ * so far is returned. It is never worse than the input plan in that combined cost of sides and sections,
+ * which is not the same as never having a larger {@link ContainerShip#getBalanceValue()}.
+ */
+public class SimulatedAnnealingPlanImprover {
+    /**
+     * Default weight of the section imbalances relative to the imbalance between the sides of the ship
+     */
+    public static final double DEFAULT_SECTION_WEIGHT = 0.1;
+
+    /**
+     * Number of steps between two checks of the clock
+     */
+    private static final int CLOCK_CHECK_INTERVAL = 256;
+
+    /**
+     * Ratio between the final and the initial temperature
+     */
+    private static final double FINAL_TEMPERATURE_RATIO = 1e-6;
+
+    /**
+     * Ratio between the initial temperature and the cost of the input plan
+     */
+    private static final double INITIAL_TEMPERATURE_RATIO = 0.1;
+
+    /**
+     * Minimum number of steps without any accepted step before the search is considered frozen
+     * in the second half of the budget
+     */
+    private static final long MIN_FREEZE_STEPS = 1_000_000;
+
+    /**
+     * Imbalance below which a plan cannot be improved any further
+     */
+    private static final double PERFECT_COST = 1e-9;
+
+    /**
+     * Wall-clock time the search may take
+     */
+    private final Duration timeBudget;
+
+    /**
+     * Weight of the section imbalances in the cost
+     */
+    private final double sectionWeight;
+
+    /**
+     * Seed of the random number generator
+     */
+    private final long seed;
+
+    /**
+     * Creates an improver with a random seed and the default section weight.
+     *
+     * @param timeBudget The wall-clock time the search may take.
+     */
+    public SimulatedAnnealingPlanImprover(Duration timeBudget) {
+        this(timeBudget, DEFAULT_SECTION_WEIGHT, System.nanoTime());
+    }
+
+    /**
+     * Creates an improver.
+     *
+     * @param timeBudget    The wall-clock time the search may take.
+     * @param sectionWeight The weight of the section imbalances relative to the imbalance between the sides.
+     * @param seed          The seed of the random number generator.
+     * @throws IllegalArgumentException if the time budget or the section weight is negative.
+     */
+    public SimulatedAnnealingPlanImprover(Duration timeBudget, double sectionWeight, long seed) {
+        if (timeBudget.isNegative() || sectionWeight < 0) {
+            throw new IllegalArgumentException("Time budget and section weight must not be negative");
+        }
+        this.timeBudget = timeBudget;
+        this.sectionWeight = sectionWeight;
+        this.seed = seed;
+    }
+
+    /**
+     * Improves a loading plan for the given ship. Neither the ship nor the plan are modified.
+     * The rows of the returned plan have the same containers in the same order, only their storage areas differ.
+     *
+     * @param ship        The ship the plan was created for, with the containers it already carries.
+     * @param loadingPlan The plan to be improved.
+     * @return The best plan found.
+     * @throws IllegalArgumentException if the plan was created for a different ship.
+     */
+    public LoadingPlan improve(ContainerShip ship, LoadingPlan loadingPlan) {
+        if (!ship.getId().equals(loadingPlan.getShipId())) {
+            throw new IllegalArgumentException("Loading plan was created for ship " + loadingPlan.getShipId()
+                    + ", not for ship " + ship.getId());
+        }
+        return new Search(ship, loadingPlan).run();
+    }
+
+    /**
+     * Calculates the cost of a ship's load, as minimized by the search.
+     *
+     * @param ship          The ship.
+     * @param sectionWeight The weight of the section imbalances.
+     * @return The imbalance between the sides plus the weighted sum of the section imbalances.
+     */
+    static double cost(ContainerShip ship, double sectionWeight) {
+        double sectionImbalance = 0;
+        for (Section section : ship.getSections()) {
+            sectionImbalance += section.getTotalWeightDifference();
+        }
+        return ship.getBalanceValue() + sectionWeight * sectionImbalance;
+    }
+
+    /**
+     * The state of a single run of the search.
+     */
+    private final class Search {
+        /**
+         * The plan that is being improved
+         */
+        private final LoadingPlan loadingPlan;
+
+        /**
+         * Random number generator of this run
+         */
+        private final MersenneTwisterFast random = new MersenneTwisterFast(seed);
+
+        /**
+         * Weight of every row in fixed point
+         */
+        private final long[] weights;
+
+        /**
+         * Current storage area of every row
+         */
+        private final int[] areas;
+
+        /**
+         * Storage area of every row in the best plan, valid unless bestIsCurrent is set
+         */
+        private final int[] bestAreas;
+
+        /**
+         * Number of free slots of every storage area in the current plan
+         */
+        private final int[] freeSlots;
+
+        /**
+         * Section of every storage area
+         */
+        private final int[] areaSections;
+
+        /**
+         * +1 for every storage area on the left side, -1 for every storage area on the right side
+         */
+        private final int[] areaSigns;
+
+        /**
+         * Weight on the left minus weight on the right for every section, in fixed point
+         */
+        private final long[] sectionDifferences;
+
+        /**
+         * Weight on the left minus weight on the right of the whole ship, in fixed point
+         */
+        private long difference;
+
+        /**
+         * Sum of the absolute section differences, in fixed point
+         */
+        private long sectionImbalance;
+
+        /**
+         * Cost of the current plan
+         */
+        private double cost;
+
+        /**
+         * Cost of the best plan
+         */
+        private double bestCost;
+
+        /**
+         * Indicates that the current plan is the best plan and bestAreas is outdated
+         */
+        private boolean bestIsCurrent = true;
+
+        /**
+         * Creates the state for a plan on the given ship.
+         *
+         * @param ship        The ship the plan was created for.
+         * @param loadingPlan The plan to be improved.
+         */
+        private Search(ContainerShip ship, LoadingPlan loadingPlan) {
+            this.loadingPlan = loadingPlan;
+            int rowCount = loadingPlan.size();
+            int areaCount = ship.getStorageAreaCount();
+            List<Section> sections = ship.getSections();
+            weights = new long[rowCount];
+            areas = new int[rowCount];
+            bestAreas = new int[rowCount];
+            freeSlots = new int[areaCount];
+            areaSections = new int[areaCount];
+            areaSigns = new int[areaCount];
+            sectionDifferences = new long[sections.size()];
+
+            // Ausgangspunkt ist die aktuelle Beladung des Schiffes
+            for (int section = 0; section < sections.size(); section++) {
+                sectionDifferences[section] = WeightTotal.toFixedPoint(sections.get(section).getLeftTotalWeight())
+                        - WeightTotal.toFixedPoint(sections.get(section).getRightTotalWeight());
+            }
+            difference = WeightTotal.toFixedPoint(ship.getTotalLeftWeight())
+                    - WeightTotal.toFixedPoint(ship.getTotalRightWeight());
+            for (int area = 0; area < areaCount; area++) {
+                StorageArea storageArea = ship.getStorageArea(area);
+                freeSlots[area] = storageArea.getMaxStackSize() - storageArea.getContainerCount();
+                areaSections[area] = ship.getSectionIndex(area);
+                areaSigns[area] = ship.isLeftStorageArea(area) ? 1 : -1;
+            }
+            for (int row = 0; row < rowCount; row++) {
+                int area = loadingPlan.getStorageAreaIndex(row);
+                long weight = WeightTotal.toFixedPoint(loadingPlan.getContainer(row).getWeight());
+                weights[row] = weight;
+                areas[row] = area;
+                freeSlots[area]--;
+                difference += areaSigns[area] * weight;
+                sectionDifferences[areaSections[area]] += areaSigns[area] * weight;
+            }
+
+            for (long sectionDifference : sectionDifferences) {
+                sectionImbalance += Math.abs(sectionDifference);
+            }
+            cost = exactCost();
+            bestCost = cost;
+        }
+
+        /**
+         * Runs the search until one of the stop criteria is met.
+         *
+         * @return The best plan found.
+         */
+        private LoadingPlan run() {
+            int rowCount = weights.length;
+            int areaCount = freeSlots.length;
+            if (rowCount == 0) {
+                return copyWith(areas);
+            }
+
+            // Der Ausgangsplan ist meist schon gut, daher beginnt die Temperatur deutlich unter seinen Kosten
+            double initialTemperature = Math.max(cost * INITIAL_TEMPERATURE_RATIO, 1);
+            double temperature = initialTemperature;
+
+            long budgetNanos = timeBudget.toNanos();
+            long start = System.nanoTime();
+            long freezeLimit = Math.max(MIN_FREEZE_STEPS, 50L * rowCount);
+            long stepsSinceAccepted = 0;
+            boolean cooling = false;
+
+            for (long step = 0; bestCost > PERFECT_COST && !(cooling && stepsSinceAccepted >= freezeLimit); step++) {
+                if (step % CLOCK_CHECK_INTERVAL == 0) {
+                    long elapsed = System.nanoTime() - start;
+                    if (elapsed >= budgetNanos || Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+                    double progress = (double) elapsed / budgetNanos;
+                    temperature = initialTemperature * Math.pow(FINAL_TEMPERATURE_RATIO, progress);
+                    // Erst in der zweiten Hälfte ist die Suche kalt genug, um ein Einfrieren zu erkennen
+                    cooling = progress >= 0.5;
+                }
+                stepsSinceAccepted++;
+
+                int row = random.nextInt(rowCount);
+                int from = areas[row];
+                if (random.nextBoolean()) {
+                    // Verschieben in einen anderen Lagerbereich mit freiem Platz
+                    int to = random.nextInt(areaCount);
+                    if (to == from || freeSlots[to] == 0) {
+                        continue;
+                    }
+                    long weight = weights[row];
+                    double delta = delta(from, -weight, to, weight);
+                    if (accept(delta, temperature)) {
+                        apply(from, -weight, to, weight);
+                        stepsSinceAccepted = 0;
+                        areas[row] = to;
+                        freeSlots[from]++;
+                        freeSlots[to]--;
+                    }
+                } else {
+                    // Tauschen der Lagerbereiche zweier Container
+                    int other = random.nextInt(rowCount);
+                    int to = areas[other];
+                    if (to == from) {
+                        continue;
+                    }
+                    long change = weights[other] - weights[row];
+                    double delta = delta(from, change, to, -change);
+                    if (accept(delta, temperature)) {
+                        apply(from, change, to, -change);
+                        stepsSinceAccepted = 0;
+                        areas[row] = to;
+                        areas[other] = from;
+                    }
+                }
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestIsCurrent = true;
+                }
+            }
+            return copyWith(bestIsCurrent ? areas : bestAreas);
+        }
+
+        /**
+         * Calculates the change of the cost if the weight of two storage areas changes.
+         *
+         * @param first        The first storage area.
+         * @param firstChange  The change of the weight of the first storage area in fixed point.
+         * @param second       The second storage area.
+         * @param secondChange The change of the weight of the second storage area in fixed point.
+         * @return The change of the cost.
+         */
+        private double delta(int first, long firstChange, int second, long secondChange) {
+            long firstSigned = areaSigns[first] * firstChange;
+            long secondSigned = areaSigns[second] * secondChange;
+            long delta = Math.abs(difference + firstSigned + secondSigned) - Math.abs(difference);
+            return WeightTotal.toWeight(delta) + sectionWeight
+                    * WeightTotal.toWeight(sectionDelta(first, firstSigned, second, secondSigned));
+        }
+
+        /**
+         * Calculates the change of the sum of the absolute section differences if the weight of two storage areas
+         * changes.
+         *
+         * @param first        The first storage area.
+         * @param firstSigned  The change of the difference of the first storage area's section in fixed point.
+         * @param second       The second storage area.
+         * @param secondSigned The change of the difference of the second storage area's section in fixed point.
+         * @return The change of the sum in fixed point.
+         */
+        private long sectionDelta(int first, long firstSigned, int second, long secondSigned) {
+            int firstSection = areaSections[first];
+            int secondSection = areaSections[second];
+            if (firstSection == secondSection) {
+                long sectionDifference = sectionDifferences[firstSection];
+                return Math.abs(sectionDifference + firstSigned + secondSigned) - Math.abs(sectionDifference);
+            }
+            long firstDifference = sectionDifferences[firstSection];
+            long secondDifference = sectionDifferences[secondSection];
+            return Math.abs(firstDifference + firstSigned) - Math.abs(firstDifference)
+                    + Math.abs(secondDifference + secondSigned) - Math.abs(secondDifference);
+        }
+
+        /**
+         * Decides whether a step is taken. Before the current plan is left for a worse one, it is saved as the best plan.
+         *
+         * @param delta       The change of the cost.
+         * @param temperature The current temperature.
+         * @return true if the step is taken, false otherwise.
+         */
+        private boolean accept(double delta, double temperature) {
+            if (delta <= 0) {
+                return true;
+            }
+            if (random.nextDouble() >= Math.exp(-delta / temperature)) {
+                return false;
+            }
+            if (bestIsCurrent) {
+                System.arraycopy(areas, 0, bestAreas, 0, areas.length);
+                bestIsCurrent = false;
+            }
+            return true;
+        }
+
+        /**
+         * Applies the weight changes of a step to the running totals and recomputes the cost from them.
+         *
+         * @param first        The first storage area.
+         * @param firstChange  The change of the weight of the first storage area in fixed point.
+         * @param second       The second storage area.
+         * @param secondChange The change of the weight of the second storage area in fixed point.
+         */
+        private void apply(int first, long firstChange, int second, long secondChange) {
+            long firstSigned = areaSigns[first] * firstChange;
+            long secondSigned = areaSigns[second] * secondChange;
+            sectionImbalance += sectionDelta(first, firstSigned, second, secondSigned);
+            difference += firstSigned + secondSigned;
+            sectionDifferences[areaSections[first]] += firstSigned;
+            sectionDifferences[areaSections[second]] += secondSigned;
+            cost = exactCost();
+        }
+
+        /**
+         * Calculates the cost of the current plan from the exact fixed-point totals.
+         *
+         * @return The cost.
+         */
+        private double exactCost() {
+            return WeightTotal.toWeight(Math.abs(difference)) + sectionWeight * WeightTotal.toWeight(sectionImbalance);
+        }
+
+        /**
+         * Creates a plan with the containers of the input plan and the given storage areas.
+         *
+         * @param rowAreas The storage area of every row.
+         * @return The new plan.
+         */
+        private LoadingPlan copyWith(int[] rowAreas) {
+            LoadingPlan result = new LoadingPlan(loadingPlan.getShipId(), rowAreas.length);
+            for (int row = 0; row < rowAreas.length; row++) {
+                result.add(loadingPlan.getContainer(row), rowAreas[row]);
+            }
+            return result;
+        }
+    }
+}
@@ -3,10 +3,11 @@ import java.util.UUID;
 
 /**
  * Represents a storage area in a container terminal.
+ * A storage area is not thread-safe; concurrent loaders give every storage area to a single thread.
  */
 public class StorageArea implements Cloneable {
-    // Stack to hold the containers in this storage area
-    private MyStackArray<Container> stack;
+    // Stack to hold the containers in this storage area together with their weights
+    private ContainerStack stack;
 
     // Maximum number of containers this storage area can hold
     private final int maxStackSize;
@@ -14,7 +15,11 @@ public class StorageArea implements Cloneable {
     // Unique identifier for this storage area
     private final UUID id;
 
-    private final int MAX_CAPACITY = 35;
+    // Section this storage area belongs to, notified about every weight change
+    private Section section;
+
+    // Indicates whether this storage area is on the left side of its section
+    private boolean leftSide;
 
     /**
      * Creates a new StorageArea with the given maximum stack size.
@@ -22,7 +27,7 @@ public class StorageArea implements Cloneable {
      * @param maxStackSize The maximum number of containers this storage area can hold.
      */
     public StorageArea(int maxStackSize) {
-        this.stack = new MyStackArray<>(MAX_CAPACITY);
+        this.stack = new ContainerStack(maxStackSize);
         this.maxStackSize = maxStackSize;
         this.id = UUID.randomUUID();
     }
@@ -37,15 +42,21 @@ public class StorageArea implements Cloneable {
     }
 
     /**
-     * Adds a container to this storage area.
+     * Adds a container to this storage area, unless it is full.
      *
      * @param container The container to be added.
+     * @return true if the container was added, false if the storage area is full.
      */
-    public void addContainer(Container container) {
-        if (canAddContainer()) {
-            container.setStorageAreaUUID(this.id);
-            stack.push(container);
+    public boolean addContainer(Container container) {
+        if (!canAddContainer()) {
+            return false;
+        }
+        container.setStorageAreaUUID(this.id);
+        stack.push(container);
+        if (section != null) {
+            section.onContainerAdded(leftSide, container.getWeight());
         }
+        return true;
     }
 
     /**
@@ -54,16 +65,35 @@ public class StorageArea implements Cloneable {
      * @return The removed container, or Optional.empty() if the storage area is empty.
      */
     public Optional<Container> removeContainer() {
-        return stack.isEmpty() ? Optional.empty() : Optional.of(stack.pop());
+        if (stack.isEmpty()) {
+            return Optional.empty();
+        }
+        Container container = stack.pop();
+        if (section != null) {
+            section.onContainerRemoved(leftSide, container.getWeight());
+        }
+        return Optional.of(container);
     }
 
     /**
      * Gets the total weight of all containers in this storage area.
+     * The stack keeps the cumulative weight of every level, so this is a constant-time read.
      *
      * @return The total weight of all containers.
      */
     public double getTotalWeight() {
-        return stack.stream().mapToDouble(Container::getWeight).sum();
+        return stack.getTotalWeight();
+    }
+
+    /**
+     * Attaches this storage area to the section that owns it, so weight changes are propagated.
+     *
+     * @param section  The owning section.
+     * @param leftSide true if this storage area is on the left side of the section.
+     */
+    void attachTo(Section section, boolean leftSide) {
+        this.section = section;
+        this.leftSide = leftSide;
     }
 
     /**
@@ -102,7 +132,8 @@ public class StorageArea implements Cloneable {
     public StorageArea clone() {
         try {
             StorageArea clone = (StorageArea) super.clone();
-            clone.stack = new MyStackArray<>(MAX_CAPACITY);
+            clone.stack = new ContainerStack(maxStackSize);
+            clone.section = null;
             return clone;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError();
@@ -0,0 +1,301 @@
+/**
+ * Simulates the loading of a container ship to find balanced storage areas for containers.
+ * Keeps the simulated weight of every storage area in one min-heap per ship side, so the
+ * lightest free storage area of a side is found in O(log A) without allocating anything.
+ * The ship itself is never modified.
+ */
+public class StorageAreaBalancer {
+    /**
+     * All storage areas of the ship, in the ship's storage area order
+     */
+    private final StorageArea[] storageAreas;
+
+    /**
+     * Indicates for every storage area whether it is on the left side of the ship
+     */
+    private final boolean[] leftSide;
+
+    /**
+     * Simulated weight of every storage area
+     */
+    private final double[] areaWeights;
+
+    /**
+     * Simulated number of containers in every storage area
+     */
+    private final int[] areaCounts;
+
+    /**
+     * Maximum number of containers of every storage area
+     */
+    private final int[] areaCapacities;
+
+    /**
+     * Storage areas on the left side that can still take a container, keyed by their simulated weight
+     */
+    private final DoubleIndexHeap leftHeap;
+
+    /**
+     * Storage areas on the right side that can still take a container, keyed by their simulated weight
+     */
+    private final DoubleIndexHeap rightHeap;
+
+    /**
+     * Simulated total weight on the left side of the ship
+     */
+    private double leftWeight;
+
+    /**
+     * Simulated total weight on the right side of the ship
+     */
+    private double rightWeight;
+
+    /**
+     * Number of containers the left side can still take
+     */
+    private int leftFreeSlots;
+
+    /**
+     * Number of containers the right side can still take
+     */
+    private int rightFreeSlots;
+
+    /**
+     * Creates a balancer that starts from the current load of the given ship.
+     *
+     * @param ship The container ship to be loaded.
+     */
+    public StorageAreaBalancer(ContainerShip ship) {
+        int areaCount = ship.getStorageAreaCount();
+        this.storageAreas = new StorageArea[areaCount];
+        this.leftSide = new boolean[areaCount];
+        this.areaWeights = new double[areaCount];
+        this.areaCounts = new int[areaCount];
+        this.areaCapacities = new int[areaCount];
+        this.leftHeap = new DoubleIndexHeap(areaCount);
+        this.rightHeap = new DoubleIndexHeap(areaCount);
+
+        for (int area = 0; area < areaCount; area++) {
+            StorageArea storageArea = ship.getStorageArea(area);
+            storageAreas[area] = storageArea;
+            leftSide[area] = ship.isLeftStorageArea(area);
+            areaWeights[area] = storageArea.getTotalWeight();
+            areaCounts[area] = storageArea.getContainerCount();
+            areaCapacities[area] = storageArea.getMaxStackSize();
+            if (areaCounts[area] < areaCapacities[area]) {
+                heapOf(area).add(area, areaWeights[area]);
+            }
+            if (leftSide[area]) {
+                leftFreeSlots += areaCapacities[area] - areaCounts[area];
+            } else {
+                rightFreeSlots += areaCapacities[area] - areaCounts[area];
+            }
+        }
+        this.leftWeight = ship.getTotalLeftWeight();
+        this.rightWeight = ship.getTotalRightWeight();
+    }
+
+    /**
+     * Places a container of the given weight on the lighter side of the ship,
+     * in the lightest storage area of that side that still has room.
+     * Falls back to the other side if the lighter side is full.
+     *
+     * @param weight The weight of the container.
+     * @return The index of the chosen storage area, or -1 if the ship is full.
+     */
+    public int place(double weight) {
+        boolean left = leftWeight < rightWeight;
+        int area = placeOnSide(left, weight);
+        return area >= 0 ? area : placeOnSide(!left, weight);
+    }
+
+    /**
+     * Places a container of the given weight in the lightest storage area of one side that still has room.
+     *
+     * @param left   true to place the container on the left side, false for the right side.
+     * @param weight The weight of the container.
+     * @return The index of the chosen storage area, or -1 if that side is full.
+     */
+    public int placeOnSide(boolean left, double weight) {
+        DoubleIndexHeap heap = left ? leftHeap : rightHeap;
+        if (heap.isEmpty()) {
+            return -1;
+        }
+        int area = heap.peek();
+        add(area, weight);
+        return area;
+    }
+
+    /**
+     * Returns the lightest storage area of one side that still has room, without placing anything.
+     *
+     * @param left true for the left side, false for the right side.
+     * @return The index of the storage area, or -1 if that side is full.
+     */
+    public int peekLightestArea(boolean left) {
+        DoubleIndexHeap heap = left ? leftHeap : rightHeap;
+        return heap.isEmpty() ? -1 : heap.peek();
+    }
+
+    /**
+     * Simulates the addition of a container to a specific storage area.
+     *
+     * @param area   The index of the storage area.
+     * @param weight The weight of the container.
+     * @throws IllegalStateException if the storage area is full.
+     */
+    public void add(int area, double weight) {
+        if (areaCounts[area] >= areaCapacities[area]) {
+            throw new IllegalStateException("Storage area " + area + " is full");
+        }
+        areaWeights[area] += weight;
+        areaCounts[area]++;
+        if (leftSide[area]) {
+            leftWeight += weight;
+            leftFreeSlots--;
+        } else {
+            rightWeight += weight;
+            rightFreeSlots--;
+        }
+        DoubleIndexHeap heap = heapOf(area);
+        if (areaCounts[area] == areaCapacities[area]) {
+            heap.remove(area);
+        } else {
+            heap.update(area, areaWeights[area]);
+        }
+    }
+
+    /**
+     * Simulates the removal of a container from a specific storage area.
+     *
+     * @param area   The index of the storage area.
+     * @param weight The weight of the container.
+     * @throws IllegalStateException if the storage area is empty.
+     */
+    public void remove(int area, double weight) {
+        if (areaCounts[area] == 0) {
+            throw new IllegalStateException("Storage area " + area + " is empty");
+        }
+        areaWeights[area] = --areaCounts[area] == 0 ? 0 : areaWeights[area] - weight;
+        if (leftSide[area]) {
+            leftWeight -= weight;
+            leftFreeSlots++;
+        } else {
+            rightWeight -= weight;
+            rightFreeSlots++;
+        }
+        DoubleIndexHeap heap = heapOf(area);
+        if (heap.contains(area)) {
+            heap.update(area, areaWeights[area]);
+        } else {
+            heap.add(area, areaWeights[area]);
+        }
+    }
+
+    /**
+     * Returns the storage area with the given index.
+     * The indices are the same as in {@link ContainerShip#getStorageArea(int)}.
+     *
+     * @param area The index of the storage area.
+     * @return The storage area.
+     */
+    public StorageArea getStorageArea(int area) {
+        return storageAreas[area];
+    }
+
+    /**
+     * Returns the number of storage areas of the ship.
+     *
+     * @return The number of storage areas.
+     */
+    public int getStorageAreaCount() {
+        return storageAreas.length;
+    }
+
+    /**
+     * Checks whether a storage area is on the left side of the ship.
+     *
+     * @param area The index of the storage area.
+     * @return true if the storage area is on the left side, false otherwise.
+     */
+    public boolean isLeftSide(int area) {
+        return leftSide[area];
+    }
+
+    /**
+     * Returns the simulated weight of a storage area.
+     *
+     * @param area The index of the storage area.
+     * @return The simulated weight.
+     */
+    public double getAreaWeight(int area) {
+        return areaWeights[area];
+    }
+
+    /**
+     * Returns the simulated number of containers in a storage area.
+     *
+     * @param area The index of the storage area.
+     * @return The simulated number of containers.
+     */
+    public int getAreaCount(int area) {
+        return areaCounts[area];
+    }
+
+    /**
+     * Checks whether a storage area can take another container.
+     *
+     * @param area The index of the storage area.
+     * @return true if the storage area has room, false otherwise.
+     */
+    public boolean hasRoom(int area) {
+        return areaCounts[area] < areaCapacities[area];
+    }
+
+    /**
+     * Returns the simulated total weight on the left side of the ship.
+     *
+     * @return The simulated left weight.
+     */
+    public double getLeftWeight() {
+        return leftWeight;
+    }
+
+    /**
+     * Returns the simulated total weight on the right side of the ship.
+     *
+     * @return The simulated right weight.
+     */
+    public double getRightWeight() {
+        return rightWeight;
+    }
+
+    /**
+     * Returns the number of containers one side can still take in the simulation.
+     *
+     * @param left true for the left side, false for the right side.
+     * @return The number of free slots of that side.
+     */
+    public int getFreeSlotCount(boolean left) {
+        return left ? leftFreeSlots : rightFreeSlots;
+    }
+
+    /**
+     * Returns the simulated balance value, the absolute difference between left and right weight.
+     *
+     * @return The simulated balance value.
+     */
+    public double getBalanceValue() {
+        return Math.abs(leftWeight - rightWeight);
+    }
+
+    /**
+     * Returns the heap that holds the given storage area.
+     *
+     * @param area The index of the storage area.
+     * @return The heap of the storage area's side.
+     */
+    private DoubleIndexHeap heapOf(int area) {
+        return leftSide[area] ? leftHeap : rightHeap;
+    }
+}
@@ -0,0 +1,186 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of a {@link TerminalAssignmentEngine}: one loading plan per ship and, for every row,
+ * the terminal that holds the container.
+ */
+public class TerminalAssignment {
+    /**
+     * The ships, in the order in which they were assigned
+     */
+    private final List<ContainerShip> ships;
+
+    /**
+     * The terminals, in the order in which they were assigned
+     */
+    private final List<ContainerTerminal> terminals;
+
+    /**
+     * The plan of every ship
+     */
+    private final List<LoadingPlan> plans;
+
+    /**
+     * For every ship and every row of its plan, the index of the terminal that holds the container
+     */
+    private final int[][] rowTerminals;
+
+    /**
+     * For every terminal, the ship of every row whose container the terminal holds
+     */
+    private final int[][] terminalRowShips;
+
+    /**
+     * For every terminal, every row whose container the terminal holds, ordered by ship and then by row
+     */
+    private final int[][] terminalRows;
+
+    /**
+     * Number of assigned containers of every terminal
+     */
+    private final int[] terminalCounts;
+
+    /**
+     * Number of containers that have to be moved to the terminal where their ship berths
+     */
+    private final int transferCount;
+
+    /**
+     * Creates an assignment.
+     *
+     * @param ships          The ships.
+     * @param terminals      The terminals.
+     * @param plans          The plan of every ship.
+     * @param rowTerminals   For every ship and row, the index of the terminal that holds the container.
+     * @param terminalCounts The number of assigned containers of every terminal.
+     * @param transferCount  The number of containers that have to be moved to another terminal.
+     */
+    TerminalAssignment(List<ContainerShip> ships, List<ContainerTerminal> terminals, List<LoadingPlan> plans,
+                       int[][] rowTerminals, int[] terminalCounts, int transferCount) {
+        this.ships = Collections.unmodifiableList(ships);
+        this.terminals = Collections.unmodifiableList(terminals);
+        this.plans = Collections.unmodifiableList(plans);
+        this.rowTerminals = rowTerminals;
+        this.terminalCounts = terminalCounts;
+        this.transferCount = transferCount;
+
+        // Die Zeilen einmal nach Terminal gruppieren, damit jedes Terminal nur seine eigenen Zeilen abarbeitet
+        int[] rowCounts = new int[terminals.size()];
+        for (int[] shipRows : rowTerminals) {
+            for (int terminal : shipRows) {
+                rowCounts[terminal]++;
+            }
+        }
+        terminalRowShips = new int[terminals.size()][];
+        terminalRows = new int[terminals.size()][];
+        for (int t = 0; t < terminals.size(); t++) {
+            terminalRowShips[t] = new int[rowCounts[t]];
+            terminalRows[t] = new int[rowCounts[t]];
+        }
+        int[] filled = new int[terminals.size()];
+        for (int ship = 0; ship < rowTerminals.length; ship++) {
+            for (int row = 0; row < rowTerminals[ship].length; row++) {
+                int terminal = rowTerminals[ship][row];
+                terminalRowShips[terminal][filled[terminal]] = ship;
+                terminalRows[terminal][filled[terminal]++] = row;
+            }
+        }
+    }
+
+    /**
+     * Returns the ships, in the order in which they were assigned.
+     *
+     * @return The ships.
+     */
+    public List<ContainerShip> getShips() {
+        return ships;
+    }
+
+    /**
+     * Returns the terminals, in the order in which they were assigned.
+     *
+     * @return The terminals.
+     */
+    public List<ContainerTerminal> getTerminals() {
+        return terminals;
+    }
+
+    /**
+     * Returns the complete plan of a ship, with the containers of all terminals in loading order.
+     *
+     * @param ship The index of the ship.
+     * @return The plan of the ship.
+     */
+    public LoadingPlan getPlan(int ship) {
+        return plans.get(ship);
+    }
+
+    /**
+     * Returns the rows of a ship's plan whose containers are held by one terminal, in loading order.
+     *
+     * @param ship     The index of the ship.
+     * @param terminal The index of the terminal.
+     * @return A new plan with the rows of that terminal.
+     */
+    public LoadingPlan getSubPlan(int ship, int terminal) {
+        LoadingPlan loadingPlan = plans.get(ship);
+        LoadingPlan subPlan = new LoadingPlan(loadingPlan.getShipId());
+        for (int row = 0; row < loadingPlan.size(); row++) {
+            if (rowTerminals[ship][row] == terminal) {
+                subPlan.add(loadingPlan.getContainer(row), loadingPlan.getStorageAreaIndex(row));
+            }
+        }
+        return subPlan;
+    }
+
+    /**
+     * Returns the index of the terminal that holds the container of a row.
+     *
+     * @param ship The index of the ship.
+     * @param row  The row of the ship's plan.
+     * @return The index of the terminal.
+     */
+    public int getTerminalOfRow(int ship, int row) {
+        return rowTerminals[ship][row];
+    }
+
+    /**
+     * Returns the ship of every row whose container a terminal holds, in the order of {@link #getRows(int)}.
+     *
+     * @param terminal The index of the terminal.
+     * @return The index of the ship of every row; must not be modified.
+     */
+    int[] getRowShips(int terminal) {
+        return terminalRowShips[terminal];
+    }
+
+    /**
+     * Returns every row whose container a terminal holds, ordered by ship and then by row.
+     *
+     * @param terminal The index of the terminal.
+     * @return The rows of the plans of the ships in {@link #getRowShips(int)}; must not be modified.
+     */
+    int[] getRows(int terminal) {
+        return terminalRows[terminal];
+    }
+
+    /**
+     * Returns the number of containers of a terminal that were assigned to any ship.
+     *
+     * @param terminal The index of the terminal.
+     * @return The number of assigned containers.
+     */
+    public int getContainerCount(int terminal) {
+        return terminalCounts[terminal];
+    }
+
+    /**
+     * Returns the number of containers that have to be moved to the terminal where their ship berths.
+     *
+     * @return The number of transfers between terminals.
+     */
+    public int getTransferCount() {
+        return transferCount;
+    }
+}
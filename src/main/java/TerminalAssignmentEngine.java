@@ -0,0 +1,236 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Assigns the containers of several terminals to several ships and loads them from all terminals at once.
+ * <p>
+ * Every ship berths at one terminal. A container that goes to a ship berthing at another terminal has to be moved
+ * between the terminals first, so the engine fills every ship from its own terminal as far as possible and uses
+ * the containers of other terminals only for the remaining slots. This gives the lowest possible number of transfers.
+ * Within both steps the containers are handed out heaviest first to the ship with the lowest weight per slot, as in
+ * the {@link FleetPlanner}. The engine indexes every container with its terminal once, so the assignment takes
+ * O(containers) plus the linear-time {@link WeightOrder}; the ships are then planned concurrently.
+ * <p>
+ * Loading runs in two concurrent phases: first every terminal hands out its containers on its own thread, working
+ * only the rows that the assignment recorded for it, then every ship is stacked in the order of its plan on its own
+ * thread. No terminal and no ship is touched by two threads at the same time.
+ */
+public class TerminalAssignmentEngine {
+    /**
+     * Planner creating the plans of the ships
+     */
+    private final FleetPlanner fleetPlanner;
+
+    /**
+     * Executor running the planning and the loading
+     */
+    private final Executor executor;
+
+    /**
+     * Creates an engine that runs on the common ForkJoin pool.
+     *
+     * @param generator The generator creating the plan of every ship.
+     */
+    public TerminalAssignmentEngine(LoadingPlanGenerator generator) {
+        this(generator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an engine.
+     *
+     * @param generator The generator creating the plan of every ship, called from several threads at the same time.
+     * @param executor  The executor running the planning and the loading.
+     */
+    public TerminalAssignmentEngine(LoadingPlanGenerator generator, Executor executor) {
+        this.fleetPlanner = new FleetPlanner(generator, executor);
+        this.executor = executor;
+    }
+
+    /**
+     * Assigns the containers of the terminals to the ships and plans every ship.
+     * If the ships cannot take all containers, the rest stays in the terminals.
+     *
+     * @param ships     The ships to be loaded, which are not modified.
+     * @param berths    For every ship, the terminal where it berths; must be one of the terminals.
+     * @param terminals The terminals holding the containers, which are not modified.
+     * @return The plans of the ships with the terminal of every row.
+     * @throws IllegalArgumentException if a ship occurs more than once, the berths do not match the ships,
+     *                                  or a berth is not one of the terminals.
+     */
+    public TerminalAssignment assign(List<ContainerShip> ships, List<ContainerTerminal> berths,
+                                     List<ContainerTerminal> terminals) {
+        FleetPlanner.requireDistinct(ships);
+        if (berths.size() != ships.size()) {
+            throw new IllegalArgumentException("Expected one berth per ship, got " + berths.size()
+                    + " berths for " + ships.size() + " ships");
+        }
+        int shipCount = ships.size();
+        int terminalCount = terminals.size();
+        int[] berthIndices = new int[shipCount];
+        for (int i = 0; i < shipCount; i++) {
+            berthIndices[i] = indexOf(terminals, berths.get(i));
+        }
+
+        // Alle Container einmal mit ihrem Terminal erfassen
+        List<Container> pool = new ArrayList<>();
+        int[] heldCounts = new int[terminalCount];
+        for (int t = 0; t < terminalCount; t++) {
+            List<Container> held = terminals.get(t).getAllContainers();
+            heldCounts[t] = held.size();
+            pool.addAll(held);
+        }
+        int[] poolTerminals = new int[pool.size()];
+        double[] poolWeights = new double[pool.size()];
+        Map<UUID, Integer> terminalById = new HashMap<>(pool.size() * 4 / 3 + 1);
+        for (int t = 0, index = 0; t < terminalCount; t++) {
+            for (int end = index + heldCounts[t]; index < end; index++) {
+                poolTerminals[index] = t;
+                poolWeights[index] = pool.get(index).getWeight();
+                terminalById.put(pool.get(index).getId(), t);
+            }
+        }
+
+        FleetShares shares = new FleetShares(ships);
+        // Pro Terminal ein Heap der dort liegenden Schiffe, Schlüssel ist das Gewicht pro Stellplatz
+        DoubleIndexHeap[] localShips = new DoubleIndexHeap[terminalCount];
+        for (int t = 0; t < terminalCount; t++) {
+            localShips[t] = new DoubleIndexHeap(shipCount);
+        }
+        for (int i = 0; i < shipCount; i++) {
+            shares.offer(localShips[berthIndices[i]], i);
+        }
+
+        // Erster Schritt: jedes Schiff aus dem eigenen Terminal, der schwerste Container zuerst
+        int[] order = WeightOrder.descendingOrder(poolWeights);
+        int[] assignedCounts = new int[terminalCount];
+        int[] surplus = new int[order.length];
+        int surplusCount = 0;
+        for (int index : order) {
+            DoubleIndexHeap heap = localShips[poolTerminals[index]];
+            if (heap.isEmpty()) {
+                surplus[surplusCount++] = index;
+                continue;
+            }
+            shares.assign(heap.peek(), pool.get(index), poolWeights[index], heap);
+            assignedCounts[poolTerminals[index]]++;
+        }
+
+        // Zweiter Schritt: freie Stellplätze mit den übrigen Containern anderer Terminals füllen
+        DoubleIndexHeap remaining = new DoubleIndexHeap(shipCount);
+        for (int i = 0; i < shipCount; i++) {
+            shares.offer(remaining, i);
+        }
+        int transferCount = 0;
+        for (int k = 0; k < surplusCount && !remaining.isEmpty(); k++) {
+            int index = surplus[k];
+            shares.assign(remaining.peek(), pool.get(index), poolWeights[index], remaining);
+            assignedCounts[poolTerminals[index]]++;
+            transferCount++;
+        }
+
+        List<LoadingPlan> plans = fleetPlanner.planShares(ships, shares.getShares());
+        int[][] rowTerminals = new int[shipCount][];
+        for (int i = 0; i < shipCount; i++) {
+            LoadingPlan loadingPlan = plans.get(i);
+            rowTerminals[i] = new int[loadingPlan.size()];
+            for (int row = 0; row < loadingPlan.size(); row++) {
+                rowTerminals[i][row] = terminalById.get(loadingPlan.getContainer(row).getId());
+            }
+        }
+        return new TerminalAssignment(new ArrayList<>(ships), new ArrayList<>(terminals), plans, rowTerminals,
+                assignedCounts, transferCount);
+    }
+
+    /**
+     * Loads all ships of an assignment from all terminals. Rows whose container is no longer
+     * stored in its terminal are skipped, as are rows whose storage area is already full;
+     * their containers stay in the terminal.
+     *
+     * @param assignment The assignment.
+     * @return The number of containers that were loaded.
+     */
+    public int load(TerminalAssignment assignment) {
+        List<ContainerShip> ships = assignment.getShips();
+        List<ContainerTerminal> terminals = assignment.getTerminals();
+        Container[][] staged = new Container[ships.size()][];
+        boolean[][] placeable = new boolean[ships.size()][];
+        for (int i = 0; i < ships.size(); i++) {
+            LoadingPlan loadingPlan = assignment.getPlan(i);
+            staged[i] = new Container[loadingPlan.size()];
+            placeable[i] = new boolean[loadingPlan.size()];
+            // Nur so viele Container entnehmen, wie die Lagerbereiche noch aufnehmen können
+            int[] freeSlots = ShipLoader.freeSlots(ships.get(i));
+            for (int row = 0; row < loadingPlan.size(); row++) {
+                int area = loadingPlan.getStorageAreaIndex(row);
+                if (freeSlots[area] > 0) {
+                    freeSlots[area]--;
+                    placeable[i][row] = true;
+                }
+            }
+        }
+
+        // Erste Phase: jedes Terminal gibt seine Container auf einem eigenen Thread heraus
+        List<CompletableFuture<Void>> handOuts = new ArrayList<>(terminals.size());
+        for (int t = 0; t < terminals.size(); t++) {
+            ContainerTerminal terminal = terminals.get(t);
+            int[] rowShips = assignment.getRowShips(t);
+            int[] rows = assignment.getRows(t);
+            handOuts.add(CompletableFuture.runAsync(() -> {
+                for (int k = 0; k < rows.length; k++) {
+                    int i = rowShips[k];
+                    int row = rows[k];
+                    if (placeable[i][row]) {
+                        staged[i][row] = terminal.removeContainerById(assignment.getPlan(i).getContainer(row).getId());
+                    }
+                }
+            }, executor));
+        }
+        handOuts.forEach(Futures::await);
+
+        // Zweite Phase: jedes Schiff wird auf einem eigenen Thread in der Reihenfolge seines Plans beladen
+        List<CompletableFuture<Integer>> loads = new ArrayList<>(ships.size());
+        for (int i = 0; i < ships.size(); i++) {
+            ContainerShip ship = ships.get(i);
+            LoadingPlan loadingPlan = assignment.getPlan(i);
+            Container[] containers = staged[i];
+            loads.add(CompletableFuture.supplyAsync(() -> {
+                int loaded = 0;
+                for (int row = 0; row < containers.length; row++) {
+                    if (containers[row] != null
+                            && ship.getStorageArea(loadingPlan.getStorageAreaIndex(row)).addContainer(containers[row])) {
+                        loaded++;
+                    }
+                }
+                return loaded;
+            }, executor));
+        }
+        int loaded = 0;
+        for (CompletableFuture<Integer> load : loads) {
+            loaded += Futures.await(load);
+        }
+        return loaded;
+    }
+
+    /**
+     * Finds a terminal in a list by identity.
+     *
+     * @param terminals The terminals.
+     * @param terminal  The terminal to find.
+     * @return The index of the terminal.
+     * @throws IllegalArgumentException if the terminal is not in the list.
+     */
+    private static int indexOf(List<ContainerTerminal> terminals, ContainerTerminal terminal) {
+        for (int t = 0; t < terminals.size(); t++) {
+            if (terminals.get(t) == terminal) {
+                return t;
+            }
+        }
+        throw new IllegalArgumentException("Berth is not one of the terminals");
+    }
+}
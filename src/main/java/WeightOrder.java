@@ -0,0 +1,171 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Orders containers by descending weight without modifying the caller's list.
+ * <p>
+ * The weights are extracted into a {@code double[]} and ordered by an LSD radix sort over their bit patterns,
+ * in six passes of 11 bits each, so the order is found in O(n) without comparing or boxing a single weight.
+ * Passes in which all weights share the same digit, usually the sign and exponent bits, are skipped.
+ * The sort is stable: containers of equal weight keep the order of the list, exactly as with
+ * {@code List.sort(Comparator.comparing(Container::getWeight).reversed())}.
+ */
+public class WeightOrder {
+    /**
+     * Number of bits sorted per pass
+     */
+    private static final int DIGIT_BITS = 11;
+
+    /**
+     * Number of different digits per pass
+     */
+    private static final int RADIX = 1 << DIGIT_BITS;
+
+    /**
+     * Number of weights up to which an insertion sort is faster than the radix passes
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+
+    /**
+     * The containers in descending weight order
+     */
+    private final Container[] containers;
+
+    /**
+     * The weights of the containers in descending order
+     */
+    private final double[] weights;
+
+    /**
+     * Orders the containers of a list by descending weight.
+     *
+     * @param containers The containers, which are not modified.
+     */
+    public WeightOrder(List<? extends Container> containers) {
+        Container[] unsorted = containers.toArray(new Container[0]);
+        double[] unsortedWeights = new double[unsorted.length];
+        for (int i = 0; i < unsorted.length; i++) {
+            unsortedWeights[i] = unsorted[i].getWeight();
+        }
+        int[] order = descendingOrder(unsortedWeights);
+        this.containers = new Container[unsorted.length];
+        this.weights = new double[unsorted.length];
+        for (int rank = 0; rank < order.length; rank++) {
+            this.containers[rank] = unsorted[order[rank]];
+            this.weights[rank] = unsortedWeights[order[rank]];
+        }
+    }
+
+    /**
+     * Returns the number of containers.
+     *
+     * @return The number of containers.
+     */
+    public int size() {
+        return containers.length;
+    }
+
+    /**
+     * Returns the container at a position of the order.
+     *
+     * @param rank The position, 0 for the heaviest container.
+     * @return The container.
+     */
+    public Container getContainer(int rank) {
+        return containers[rank];
+    }
+
+    /**
+     * Returns the weight of the container at a position of the order.
+     *
+     * @param rank The position, 0 for the heaviest container.
+     * @return The weight of the container.
+     */
+    public double getWeight(int rank) {
+        return weights[rank];
+    }
+
+    /**
+     * Returns the weights of the heaviest containers in descending order.
+     *
+     * @param count The number of containers, not more than {@link #size()}.
+     * @return A new array with the weights.
+     */
+    public double[] getWeights(int count) {
+        double[] result = new double[count];
+        System.arraycopy(weights, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Computes the permutation that orders weights descending. Equal weights keep their relative order.
+     *
+     * @param weights The weights, which are not modified.
+     * @return For every position of the descending order, the index of the weight in the given array.
+     */
+    public static int[] descendingOrder(double[] weights) {
+        int count = weights.length;
+        int[] order = new int[count];
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            // Bitmuster so umformen, dass der vorzeichenlose Vergleich der absteigenden Reihenfolge entspricht
+            long bits = Double.doubleToLongBits(weights[i]);
+            keys[i] = ~(bits ^ ((bits >> 63) | Long.MIN_VALUE));
+        }
+        if (count <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, order);
+            return order;
+        }
+
+        int[] orderBuffer = new int[count];
+        long[] keyBuffer = new long[count];
+        int[] counts = new int[RADIX + 1];
+        for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < count; i++) {
+                counts[(int) ((keys[i] >>> shift) & (RADIX - 1)) + 1]++;
+            }
+            if (counts[(int) ((keys[0] >>> shift) & (RADIX - 1)) + 1] == count) {
+                // Alle Schlüssel haben dieselbe Ziffer, der Durchlauf ändert nichts
+                continue;
+            }
+            for (int digit = 0; digit < RADIX; digit++) {
+                counts[digit + 1] += counts[digit];
+            }
+            for (int i = 0; i < count; i++) {
+                int target = counts[(int) ((keys[i] >>> shift) & (RADIX - 1))]++;
+                keyBuffer[target] = keys[i];
+                orderBuffer[target] = order[i];
+            }
+            long[] swapKeys = keys;
+            keys = keyBuffer;
+            keyBuffer = swapKeys;
+            int[] swapOrder = order;
+            order = orderBuffer;
+            orderBuffer = swapOrder;
+        }
+        return order;
+    }
+
+    /**
+     * Sorts a few keys ascending as unsigned values and moves the indices along with them. The sort is stable.
+     *
+     * @param keys  The keys.
+     * @param order The indices belonging to the keys.
+     */
+    private static void insertionSort(long[] keys, int[] order) {
+        for (int i = 1; i < keys.length; i++) {
+            long key = keys[i];
+            int index = order[i];
+            int j = i - 1;
+            while (j >= 0 && Long.compareUnsigned(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                order[j + 1] = order[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            order[j + 1] = index;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running total of the weight and the number of containers on one side of a section or a ship.
+ * <p>
+ * The weight is kept in fixed point with {@link #FRACTION_BITS} fractional bits in a {@link LongAdder},
+ * so several cranes can update it at the same time without losing updates. A container is always rounded
+ * to the same value when it is added and when it is removed, so the total stays exact under any number of
+ * additions and removals and an empty side weighs exactly 0. The rounding error per container is below
+ * 2e-9 kg, and a side can hold more than 3e10 kg.
+ */
+final class WeightTotal {
+    /**
+     * Number of fractional bits of the fixed-point weight
+     */
+    static final int FRACTION_BITS = 28;
+
+    /**
+     * Value of one kilogram in fixed point
+     */
+    private static final double SCALE = 1L << FRACTION_BITS;
+
+    /**
+     * Total weight in fixed point
+     */
+    private final LongAdder weight = new LongAdder();
+
+    /**
+     * Number of containers
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Adds a container to the total.
+     *
+     * @param weight The weight of the container.
+     */
+    void add(double weight) {
+        this.weight.add(toFixedPoint(weight));
+        count.increment();
+    }
+
+    /**
+     * Removes a container from the total.
+     *
+     * @param weight The weight of the container.
+     */
+    void remove(double weight) {
+        this.weight.add(-toFixedPoint(weight));
+        count.decrement();
+    }
+
+    /**
+     * Returns the total weight.
+     *
+     * @return The total weight of all containers.
+     */
+    double getWeight() {
+        return toWeight(weight.sum());
+    }
+
+    /**
+     * Returns the number of containers.
+     *
+     * @return The number of containers.
+     */
+    long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Converts a weight to fixed point.
+     *
+     * @param weight The weight.
+     * @return The weight in fixed point, rounded to the nearest value.
+     */
+    static long toFixedPoint(double weight) {
+        return Math.round(weight * SCALE);
+    }
+
+    /**
+     * Converts a weight from fixed point.
+     *
+     * @param fixedPoint The weight in fixed point.
+     * @return The weight.
+     */
+    static double toWeight(long fixedPoint) {
+        return fixedPoint / SCALE;
+    }
+}
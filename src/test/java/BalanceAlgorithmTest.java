@@ -1,8 +1,12 @@
 import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -15,10 +19,70 @@ public class BalanceAlgorithmTest {
         double acceptableThreshold = 6250;
         return Arrays.asList(
                 dynamicTest("GreedyBalancingLoadingAlgorithm", new GreedyBalancingLoadingPlanGenerator(), acceptableThreshold),
-                dynamicTest("GreedySimpleAlgorithm", new GreedySimplePlanGenerator(), acceptableThreshold)
+                dynamicTest("GreedySimpleAlgorithm", new GreedySimplePlanGenerator(), acceptableThreshold),
+                // Die Differenzenmethode ist deutlich genauer als die Greedy-Verfahren
+                dynamicTest("KarmarkarKarpAlgorithm", new KarmarkarKarpPlanGenerator(), 1),
+                dynamicTest("MultiStartAlgorithm", new MultiStartPlanGenerator(7), acceptableThreshold),
+                dynamicTest("BranchAndBoundAlgorithm", new BranchAndBoundPlanGenerator(Duration.ofMillis(200)), 1),
+                dynamicTest("GreedySimpleWithAnnealing", new ImprovingPlanGenerator(new GreedySimplePlanGenerator(),
+                        new SimulatedAnnealingPlanImprover(Duration.ofMillis(200))), acceptableThreshold)
         );
     }
 
+    @TestFactory
+    Collection<DynamicTest> inMemoryPlanTests() {
+        return Arrays.asList(
+                inMemoryPlanTest("GreedyBalancingLoadingAlgorithm", new GreedyBalancingLoadingPlanGenerator()),
+                inMemoryPlanTest("GreedySimpleAlgorithm", new GreedySimplePlanGenerator()),
+                inMemoryPlanTest("KarmarkarKarpAlgorithm", new KarmarkarKarpPlanGenerator()),
+                inMemoryPlanTest("MultiStartAlgorithm", new MultiStartPlanGenerator(7)),
+                inMemoryPlanTest("BranchAndBoundAlgorithm", new BranchAndBoundPlanGenerator(Duration.ofMillis(200)))
+        );
+    }
+
+    @Test
+    void testKarmarkarKarpLoadsHeaviestContainersWhenShipIsFull() {
+        ContainerShip ship = new ContainerShip(4, 2, 5);
+        ContainerTerminal terminal = new ContainerTerminal(12, 12);
+        terminal.placeRandomContainers(100);
+        List<Container> containers = terminal.getAllContainers();
+        List<Container> original = new ArrayList<>(containers);
+
+        LoadingPlan loadingPlan = new KarmarkarKarpPlanGenerator().generatePlan(ship, containers);
+        int loaded = new ShipLoader().loadShip(ship, terminal, loadingPlan);
+
+        // 4 Sektionen mit je 2 Lagerbereichen pro Seite und Stapelhöhe 5
+        assertEquals(80, loaded);
+        assertEquals(original, containers);
+        double lightestLoaded = Double.MAX_VALUE;
+        for (int row = 0; row < loadingPlan.size(); row++) {
+            lightestLoaded = Math.min(lightestLoaded, loadingPlan.getContainer(row).getWeight());
+        }
+        for (Container container : terminal.getAllContainers()) {
+            assertTrue(container.getWeight() <= lightestLoaded);
+        }
+    }
+
+    private DynamicTest inMemoryPlanTest(String testName, LoadingPlanGenerator planGenerator) {
+        return DynamicTest.dynamicTest(testName, () -> {
+            ContainerShip ship = new ContainerShip(20, 4, 35);
+            ContainerTerminal terminal = new ContainerTerminal(75, 90);
+            terminal.placeRandomContainers(4000);
+
+            // Der Ladeplan wird ohne CSV-Datei direkt an den ShipLoader übergeben
+            LoadingPlan loadingPlan = planGenerator.generatePlan(ship, terminal.getAllContainers());
+            int loaded = new ShipLoader().loadShip(ship, terminal, loadingPlan);
+
+            assertEquals(4000, loadingPlan.size());
+            assertEquals(4000, loaded);
+            assertEquals(0, terminal.getContainerCount());
+            for (int row = 0; row < loadingPlan.size(); row++) {
+                StorageArea storageArea = ship.getStorageArea(loadingPlan.getStorageAreaIndex(row));
+                assertEquals(storageArea.getId(), loadingPlan.getContainer(row).getStorageAreaUUID());
+            }
+        });
+    }
+
     private DynamicTest dynamicTest(String testName, LoadingPlanGenerator planGenerator, double acceptableThreshold) {
         return DynamicTest.dynamicTest(testName, () -> {
             // Schritt 1: Initialisierung
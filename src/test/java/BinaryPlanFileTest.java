@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test the class {@link BinaryPlanFile}
+ */
+public class BinaryPlanFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTripsAndConvertsToCsv() throws IOException {
+        ContainerShip ship = new ContainerShip(20, 4, 35);
+        ContainerTerminal terminal = new ContainerTerminal(75, 90);
+        terminal.placeRandomContainers(4000);
+        LoadingPlan loadingPlan = new GreedyBalancingLoadingPlanGenerator().generatePlan(ship, terminal.getAllContainers());
+
+        Path binaryFile = tempDir.resolve("plan.bin");
+        BinaryPlanFile.write(loadingPlan, ship, binaryFile);
+        assertEquals(BinaryPlanFile.HEADER_SIZE + 4000L * BinaryPlanFile.RECORD_SIZE, Files.size(binaryFile));
+
+        BinaryPlanFile planFile = new BinaryPlanFile(binaryFile);
+        assertEquals(ship.getId(), planFile.getShipId());
+        assertEquals(ship.getGeometryHash(), planFile.getGeometryHash());
+        assertEquals(loadingPlan.getContainer(1234).getId(), planFile.getContainerId(1234));
+
+        LoadingPlan readPlan = planFile.toLoadingPlan(ship.clone(), terminal);
+        assertEquals(loadingPlan.size(), readPlan.size());
+        for (int row = 0; row < loadingPlan.size(); row++) {
+            assertEquals(loadingPlan.getContainer(row), readPlan.getContainer(row));
+            assertEquals(loadingPlan.getStorageAreaIndex(row), readPlan.getStorageAreaIndex(row));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> planFile.toLoadingPlan(new ContainerShip(20, 4, 35), terminal));
+
+        // CSV -> binär -> CSV muss dieselben Zeilen ergeben
+        Path csvFile = tempDir.resolve("plan.csv");
+        new LoadingManager().writePlanToCSV(loadingPlan, ship, csvFile.toString());
+        Path convertedBinaryFile = tempDir.resolve("converted.bin");
+        assertEquals(4000, BinaryPlanFile.convertCsvToBinary(csvFile, convertedBinaryFile, ship));
+        Path convertedCsvFile = tempDir.resolve("converted.csv");
+        assertEquals(4000, BinaryPlanFile.convertBinaryToCsv(convertedBinaryFile, convertedCsvFile));
+        List<String> expected = Files.readAllLines(csvFile);
+        assertEquals(expected, Files.readAllLines(convertedCsvFile));
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path csvFile = tempDir.resolve("not-binary.csv");
+        Files.writeString(csvFile, "ContainerUUID,StackUUID\n".repeat(10));
+        assertThrows(IOException.class, () -> new BinaryPlanFile(csvFile));
+
+        // Zeilenzahl im Kopf verfälschen: negativ, zu groß und so groß, dass die Länge überläuft
+        ContainerShip ship = new ContainerShip(2, 1, 2);
+        ContainerTerminal terminal = new ContainerTerminal(3, 3);
+        terminal.placeRandomContainers(4);
+        Path binaryFile = tempDir.resolve("plan.bin");
+        BinaryPlanFile.write(new GreedyBalancingLoadingPlanGenerator().generatePlan(ship, terminal.getAllContainers()),
+                ship, binaryFile);
+        for (long rowCount : new long[]{-1, 5, 1L << 59}) {
+            try (FileChannel channel = FileChannel.open(binaryFile, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, rowCount), 32);
+            }
+            assertThrows(IOException.class, () -> new BinaryPlanFile(binaryFile));
+        }
+    }
+}
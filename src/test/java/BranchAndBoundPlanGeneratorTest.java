@@ -0,0 +1,117 @@
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test the class {@link BranchAndBoundPlanGenerator}
+ */
+public class BranchAndBoundPlanGeneratorTest {
+
+    @Test
+    void testFindsOptimalSplitWithinCapacities() {
+        MersenneTwisterFast random = new MersenneTwisterFast(7);
+        for (int instance = 0; instance < 20; instance++) {
+            // Ganzzahlige Gewichte, damit es viele gleich gute Aufteilungen gibt
+            double[] weights = new double[16];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = 12500 + random.nextInt(20000);
+            }
+            Arrays.sort(weights);
+            for (int i = 0; i < weights.length / 2; i++) {
+                double swap = weights[i];
+                weights[i] = weights[weights.length - 1 - i];
+                weights[weights.length - 1 - i] = swap;
+            }
+            double initialDifference = instance % 2 == 0 ? 0 : random.nextInt(40000) - 20000;
+            int leftCapacity = 6 + instance % 5;
+            int rightCapacity = 16 - leftCapacity + instance % 3;
+
+            BranchAndBoundPlanGenerator.Solution solution = BranchAndBoundPlanGenerator.solve(weights, initialDifference,
+                    leftCapacity, rightCapacity, System.nanoTime() + Duration.ofSeconds(30).toNanos());
+
+            double difference = initialDifference;
+            int leftCount = 0;
+            for (int i = 0; i < weights.length; i++) {
+                difference += solution.left[i] ? weights[i] : -weights[i];
+                leftCount += solution.left[i] ? 1 : 0;
+            }
+            assertTrue(solution.optimal);
+            assertEquals(Math.abs(difference), solution.difference, 1e-6);
+            assertTrue(leftCount <= leftCapacity && weights.length - leftCount <= rightCapacity);
+            assertEquals(bruteForce(weights, initialDifference, leftCapacity, rightCapacity), solution.difference, 1e-6);
+        }
+    }
+
+    @Test
+    void testReturnsIncumbentAtDeadline() {
+        ContainerShip ship = new ContainerShip(20, 4, 35);
+        ContainerTerminal terminal = new ContainerTerminal(75, 90);
+        terminal.placeRandomContainers(4000);
+        List<Container> containers = terminal.getAllContainers();
+
+        long start = System.nanoTime();
+        LoadingPlan loadingPlan = new BranchAndBoundPlanGenerator(Duration.ofMillis(100)).generatePlan(ship, containers);
+        long elapsed = System.nanoTime() - start;
+        int loaded = new ShipLoader().loadShip(ship, terminal, loadingPlan);
+
+        assertTrue(elapsed < Duration.ofSeconds(10).toNanos());
+        assertEquals(4000, loaded);
+        assertTrue(ship.getBalanceValue() <= 1);
+    }
+
+    @Test
+    void testSplitFitsCapacitiesWhenStoppedAtOnce() {
+        ContainerShip ship = new ContainerShip(40, 4, 35);
+        ContainerTerminal terminal = new ContainerTerminal(120, 100);
+        terminal.placeRandomContainers(11200);
+        List<Container> containers = terminal.getAllContainers();
+        // Links teilweise vorbeladen, damit die Aufteilung der Differenzmethode nicht mehr passt
+        int preloaded = 0;
+        for (int area = 0; area < ship.getStorageAreaCount() && preloaded < 2880; area++) {
+            StorageArea storageArea = ship.getStorageArea(area);
+            while (ship.isLeftStorageArea(area) && storageArea.canAddContainer() && preloaded < 2880) {
+                storageArea.addContainer(containers.get(preloaded++));
+            }
+        }
+        List<Container> pool = containers.subList(2880, containers.size());
+
+        for (Duration deadline : List.of(Duration.ZERO, Duration.ofMillis(2))) {
+            LoadingPlan loadingPlan = new BranchAndBoundPlanGenerator(deadline).generatePlan(ship, pool);
+
+            assertEquals(8320, loadingPlan.size());
+            for (int row = 0; row < loadingPlan.size(); row++) {
+                assertTrue(loadingPlan.getStorageAreaIndex(row) >= 0);
+            }
+        }
+    }
+
+    /**
+     * Finds the smallest difference by trying every split.
+     *
+     * @param weights           The weights.
+     * @param initialDifference The weight on the left minus the weight on the right before the split.
+     * @param leftCapacity      The number of weights the left side can take.
+     * @param rightCapacity     The number of weights the right side can take.
+     * @return The smallest absolute difference.
+     */
+    private static double bruteForce(double[] weights, double initialDifference, int leftCapacity, int rightCapacity) {
+        double best = Double.POSITIVE_INFINITY;
+        for (int mask = 0; mask < 1 << weights.length; mask++) {
+            int leftCount = Integer.bitCount(mask);
+            if (leftCount > leftCapacity || weights.length - leftCount > rightCapacity) {
+                continue;
+            }
+            double difference = initialDifference;
+            for (int i = 0; i < weights.length; i++) {
+                difference += (mask & 1 << i) != 0 ? weights[i] : -weights[i];
+            }
+            best = Math.min(best, Math.abs(difference));
+        }
+        return best;
+    }
+}
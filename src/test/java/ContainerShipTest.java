@@ -1,9 +1,13 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 
+import java.util.Random;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 /**
@@ -32,7 +36,115 @@ public class ContainerShipTest {
                     StorageArea area = section.getLeftStorageAreas().get(0);
                     assertNotNull(area.getId());
                     assertEquals(config[2], area.getMaxStackSize());
+
+                    // Der flache Index muss auf dieselben Lagerbereiche zeigen wie die Sektionen
+                    assertEquals(config[0] * config[1] * 2, ship.getStorageAreaCount());
+                    ContainerShip clone = ship.clone();
+                    for (int index = 0; index < ship.getStorageAreaCount(); index++) {
+                        Section owner = ship.getSections().get(ship.getSectionIndex(index));
+                        boolean left = ship.isLeftStorageArea(index);
+                        int slot = ship.getSlotIndex(index);
+                        StorageArea expected = left
+                                ? owner.getLeftStorageAreas().get(slot)
+                                : owner.getRightStorageAreas().get(slot);
+                        assertSame(expected, ship.getStorageArea(index));
+                        assertEquals(index, ship.getStorageAreaIndex(ship.getSectionIndex(index), left, slot));
+                        assertEquals(expected.getId(), clone.getStorageArea(index).getId());
+
+                        // Die ID-Registry muss auch auf dem Klon gültig sein
+                        assertEquals(index, clone.getStorageAreaIndex(expected.getId()));
+                        assertSame(clone.getStorageArea(index), clone.getStorageAreaById(expected.getId()));
+                        assertSame(owner, ship.getSectionOfStorageArea(expected.getId()));
+                        assertSame(owner, ship.getSectionById(owner.getId()));
+                    }
+                    assertEquals(-1, ship.getStorageAreaIndex(UUID.randomUUID()));
                 }
         ));
     }
+
+    @Test
+    void testStorageAreaRespectsMaxStackSize() {
+        ContainerShip ship = new ContainerShip(5, 1, 10);
+        StorageArea area = ship.getStorageArea(0);
+        double expectedWeight = 0;
+        for (int i = 0; i < 12; i++) {
+            Container container = new Container(12500 + 1000 * i, false, ShippingCompany.COSCO);
+            if (i < 10) {
+                expectedWeight += container.getWeight();
+            }
+            area.addContainer(container);
+        }
+        assertEquals(10, area.getContainerCount());
+        assertEquals(expectedWeight, area.getTotalWeight());
+        assertEquals(expectedWeight, ship.getTotalLeftWeight());
+    }
+
+    @Test
+    void testWeightAggregatesStayExactUnderChurn() {
+        ContainerShip ship = new ContainerShip(10, 2, 20);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            Section section = ship.getSections().get(random.nextInt(10));
+            StorageArea area = random.nextBoolean()
+                    ? section.getLeftStorageAreas().get(random.nextInt(2))
+                    : section.getRightStorageAreas().get(random.nextInt(2));
+            if (random.nextInt(3) == 0) {
+                area.removeContainer();
+            } else {
+                area.addContainer(new Container(12500 + 20000 * random.nextDouble(), false, ShippingCompany.MSC));
+            }
+        }
+
+        double left = 0;
+        double right = 0;
+        for (Section section : ship.getSections()) {
+            double sectionLeft = section.getLeftStorageAreas().stream().mapToDouble(StorageArea::getTotalWeight).sum();
+            double sectionRight = section.getRightStorageAreas().stream().mapToDouble(StorageArea::getTotalWeight).sum();
+            assertEquals(sectionLeft, section.getLeftTotalWeight(), 1e-3);
+            assertEquals(sectionRight, section.getRightTotalWeight(), 1e-3);
+            left += sectionLeft;
+            right += sectionRight;
+        }
+        assertEquals(left, ship.getTotalLeftWeight(), 1e-3);
+        assertEquals(right, ship.getTotalRightWeight(), 1e-3);
+        assertEquals(Math.abs(left - right), ship.getBalanceValue(), 1e-3);
+
+        // Nach dem Entladen aller Container muss das Schiff exakt leer sein
+        for (Section section : ship.getSections()) {
+            for (StorageArea area : section.getAllStorageAreas()) {
+                while (area.removeContainer().isPresent()) {
+                    // weiter entladen
+                }
+            }
+        }
+        assertEquals(0.0, ship.getTotalLeftWeight());
+        assertEquals(0.0, ship.getTotalRightWeight());
+        assertEquals(0.0, ship.clone().getBalanceValue());
+    }
+
+    @Test
+    void testTotalsHaveNoResidueAfterRefill() {
+        ContainerShip ship = new ContainerShip(1, 1, 4);
+        ContainerShip reference = ship.clone();
+        StorageArea area = ship.getSections().get(0).getLeftStorageAreas().get(0);
+        Container kept = new Container(17321.123456789, false, ShippingCompany.MSC);
+        Random random = new Random(3);
+
+        // Die Seite wird immer wieder geleert und neu befüllt, nur ein Container bleibt am Ende übrig
+        for (int cycle = 0; cycle < 1000; cycle++) {
+            for (int i = 0; i < 4; i++) {
+                area.addContainer(new Container(12500 + 20000 * random.nextDouble(), false, ShippingCompany.MSC));
+            }
+            while (area.removeContainer().isPresent()) {
+                // weiter entladen
+            }
+        }
+        area.addContainer(kept);
+        reference.getSections().get(0).getLeftStorageAreas().get(0).addContainer(kept);
+
+        assertEquals(reference.getTotalLeftWeight(), ship.getTotalLeftWeight());
+        assertEquals(reference.getSections().get(0).getLeftTotalWeight(), ship.getSections().get(0).getLeftTotalWeight());
+        assertEquals(kept.getWeight(), ship.getTotalLeftWeight(), 1e-8);
+    }
 }
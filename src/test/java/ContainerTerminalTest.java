@@ -62,6 +62,40 @@ public class ContainerTerminalTest {
             assertEquals(c, removed);
         }));
 
+        dynamicTests.add(DynamicTest.dynamicTest("Test Index Follows Grid Changes", () -> {
+            ContainerTerminal localTerminal = new ContainerTerminal(75, 90);
+            Container c = new Container(20000, false, ShippingCompany.OOCL);
+            localTerminal.addContainer(3, 7, c);
+            assertEquals(c, localTerminal.getContainerById(c.getId()));
+
+            assertEquals(c, localTerminal.removeContainer(3, 7));
+            assertNull(localTerminal.getContainerById(c.getId()));
+            assertNull(localTerminal.removeContainerById(c.getId()));
+            assertEquals(0, localTerminal.getContainerCount());
+        }));
+
+        dynamicTests.add(DynamicTest.dynamicTest("Test Remove All Random Containers By Id", () -> {
+            ContainerTerminal localTerminal = new ContainerTerminal(75, 90);
+            localTerminal.placeRandomContainers(4000);
+            for (Container c : localTerminal.getAllContainers()) {
+                assertEquals(c, localTerminal.removeContainerById(c.getId()));
+            }
+            assertTrue(localTerminal.getAllContainers().isEmpty());
+        }));
+
+        dynamicTests.add(DynamicTest.dynamicTest("Test Fill Terminal Completely", () -> {
+            ContainerTerminal localTerminal = new ContainerTerminal(75, 90);
+            localTerminal.addContainer(0, 0, new Container(20000, false, ShippingCompany.OOCL));
+            localTerminal.placeRandomContainers(75 * 90 - 1);
+            assertEquals(75 * 90, localTerminal.getAllContainers().size());
+            assertEquals(0, localTerminal.getFreeSlotCount());
+            assertThrows(IllegalArgumentException.class, () -> localTerminal.placeRandomContainers(1));
+
+            localTerminal.removeContainer(10, 20);
+            localTerminal.placeRandomContainers(1);
+            assertEquals(75 * 90, localTerminal.getContainerCount());
+        }));
+
         return dynamicTests.stream();
     }
 }
@@ -0,0 +1,110 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test the class {@link FleetPlanner}
+ */
+public class FleetPlannerTest {
+
+    @Test
+    void testDistributesHeaviestContainersByCapacity() {
+        List<ContainerShip> ships = List.of(new ContainerShip(10, 2, 35), new ContainerShip(10, 2, 20),
+                new ContainerShip(6, 3, 10));
+        ContainerTerminal terminal1 = new ContainerTerminal(75, 90);
+        ContainerTerminal terminal2 = new ContainerTerminal(75, 90);
+        terminal1.placeRandomContainers(2500);
+        terminal2.placeRandomContainers(2500);
+        List<Container> pool = new ArrayList<>(terminal1.getAllContainers());
+        pool.addAll(terminal2.getAllContainers());
+
+        List<LoadingPlan> plans = new FleetPlanner(new GreedyBalancingLoadingPlanGenerator())
+                .planFromTerminals(ships, List.of(terminal1, terminal2));
+
+        // 1400 + 800 + 360 Stellplätze, weniger als Container im Pool
+        int[] capacities = {1400, 800, 360};
+        Set<UUID> planned = new HashSet<>();
+        for (int i = 0; i < ships.size(); i++) {
+            ContainerShip ship = ships.get(i);
+            LoadingPlan loadingPlan = plans.get(i);
+            assertEquals(ship.getId(), loadingPlan.getShipId());
+            assertEquals(capacities[i], loadingPlan.size());
+            double weight = 0;
+            for (int row = 0; row < loadingPlan.size(); row++) {
+                assertTrue(planned.add(loadingPlan.getContainer(row).getId()));
+                weight += loadingPlan.getContainer(row).getWeight();
+            }
+            // Jedes Schiff ist gleich stark beladen, gemessen am Gewicht pro Stellplatz
+            assertEquals(weight / capacities[i], averageOfHeaviest(pool, 2560), ContainerTerminal.MAX_WEIGHT / capacities[i]);
+
+            int loaded = new ShipLoader().loadShip(ship, terminal1, loadingPlan)
+                    + new ShipLoader().loadShip(ship, terminal2, loadingPlan);
+            assertEquals(capacities[i], loaded);
+            assertTrue(ship.getBalanceValue() <= ContainerTerminal.MAX_WEIGHT);
+        }
+        assertEquals(5000 - 2560, terminal1.getContainerCount() + terminal2.getContainerCount());
+    }
+
+    @Test
+    void testPlansShipsConcurrently() {
+        List<ContainerShip> ships = List.of(new ContainerShip(2, 1, 5), new ContainerShip(2, 1, 5),
+                new ContainerShip(2, 1, 5));
+        ContainerTerminal terminal = new ContainerTerminal(10, 10);
+        terminal.placeRandomContainers(30);
+        // Jeder Generatoraufruf wartet, bis alle Schiffe gleichzeitig geplant werden
+        CountDownLatch running = new CountDownLatch(ships.size());
+        LoadingPlanGenerator waiting = (ship, containers, sink) -> {
+            running.countDown();
+            try {
+                if (!running.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Ships are not planned concurrently");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            new GreedyBalancingLoadingPlanGenerator().generatePlan(ship, containers, sink);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(ships.size());
+        try {
+            List<LoadingPlan> plans = new FleetPlanner(waiting, executor).plan(ships, terminal.getAllContainers());
+            assertEquals(List.of(10, 10, 10), plans.stream().map(LoadingPlan::size).toList());
+
+            LoadingPlanGenerator failing = (ship, containers, sink) -> {
+                throw new IllegalStateException("Planning failed");
+            };
+            assertThrows(IllegalStateException.class,
+                    () -> new FleetPlanner(failing, executor).plan(ships, terminal.getAllContainers()));
+            assertThrows(IllegalArgumentException.class, () -> new FleetPlanner(waiting, executor)
+                    .plan(List.of(ships.get(0), ships.get(0)), terminal.getAllContainers()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Calculates the average weight of the heaviest containers.
+     *
+     * @param containers The containers.
+     * @param count      The number of heaviest containers.
+     * @return The average weight.
+     */
+    private static double averageOfHeaviest(List<Container> containers, int count) {
+        return containers.stream().map(Container::getWeight).sorted(Comparator.reverseOrder()).limit(count)
+                .mapToDouble(Double::doubleValue).average().orElse(0);
+    }
+}
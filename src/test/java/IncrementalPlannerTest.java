@@ -0,0 +1,83 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test the class {@link IncrementalPlanner}
+ */
+public class IncrementalPlannerTest {
+
+    @Test
+    void testRepairsPlanAfterBookingsAndCancellations() {
+        ContainerShip ship = new ContainerShip(20, 4, 35);
+        ContainerTerminal terminal = new ContainerTerminal(75, 90);
+        terminal.placeRandomContainers(3000);
+        LoadingPlan loadingPlan = new GreedyBalancingLoadingPlanGenerator().generatePlan(ship, terminal.getAllContainers());
+        Map<UUID, Integer> plannedAreas = new HashMap<>();
+        List<UUID> removed = new ArrayList<>();
+        for (int row = 0; row < loadingPlan.size(); row++) {
+            Container container = loadingPlan.getContainer(row);
+            plannedAreas.put(container.getId(), loadingPlan.getStorageAreaIndex(row));
+            // Nur Container der linken Seite stornieren, damit das Gleichgewicht deutlich gestört wird
+            if (removed.size() < 40 && ship.isLeftStorageArea(loadingPlan.getStorageAreaIndex(row))) {
+                removed.add(container.getId());
+            }
+        }
+        removed.forEach(terminal::removeContainerById);
+        terminal.placeRandomContainers(25);
+        List<Container> added = new ArrayList<>();
+        for (Container container : terminal.getAllContainers()) {
+            if (!plannedAreas.containsKey(container.getId())) {
+                added.add(container);
+            }
+        }
+
+        IncrementalPlanner unrepaired = new IncrementalPlanner(ship, loadingPlan);
+        unrepaired.replan(added, removed, 0);
+        IncrementalPlanner planner = new IncrementalPlanner(ship, loadingPlan);
+        LoadingPlan updated = planner.replan(added, removed, 16);
+
+        assertEquals(3000 - 40 + 25, updated.size());
+        assertTrue(planner.getLastMoveCount() > 0 && planner.getLastMoveCount() <= 16);
+        assertTrue(planner.getBalanceValue() < unrepaired.getBalanceValue());
+        // Außer den reparierten Containern behalten alle ihren Lagerbereich
+        int changed = 0;
+        for (int row = 0; row < updated.size(); row++) {
+            Integer plannedArea = plannedAreas.get(updated.getContainer(row).getId());
+            if (plannedArea != null && plannedArea != updated.getStorageAreaIndex(row)) {
+                changed++;
+            }
+        }
+        assertTrue(changed <= 2 * planner.getLastMoveCount());
+
+        int loaded = new ShipLoader().loadShip(ship, terminal, updated);
+        assertEquals(updated.size(), loaded);
+        assertEquals(0, terminal.getContainerCount());
+        assertEquals(planner.getBalanceValue(), ship.getBalanceValue(), 1e-3);
+    }
+
+    @Test
+    void testSkipsBookingsThatDoNotFit() {
+        ContainerShip ship = new ContainerShip(2, 1, 2);
+        ContainerTerminal terminal = new ContainerTerminal(3, 3);
+        terminal.placeRandomContainers(9);
+        List<Container> containers = terminal.getAllContainers();
+        LoadingPlan loadingPlan = new GreedyBalancingLoadingPlanGenerator().generatePlan(ship, containers.subList(0, 6));
+        IncrementalPlanner planner = new IncrementalPlanner(ship, loadingPlan);
+
+        LoadingPlan updated = planner.replan(containers.subList(6, 9), List.of(UUID.randomUUID()));
+
+        // 2 Sektionen mit je einem Lagerbereich pro Seite und Stapelhöhe 2
+        assertEquals(8, updated.size());
+        for (int row = 0; row < 6; row++) {
+            assertEquals(loadingPlan.getContainer(row), updated.getContainer(row));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test the class {@link MultiStartPlanGenerator}
+ */
+public class MultiStartPlanGeneratorTest {
+
+    @Test
+    void testPlanIsReproducibleForSeedIndependentOfThreads() {
+        ContainerShip ship = new ContainerShip(20, 4, 35);
+        ContainerTerminal terminal = new ContainerTerminal(75, 90);
+        terminal.placeRandomContainers(4000);
+        List<Container> containers = terminal.getAllContainers();
+
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+        ForkJoinPool fourThreads = new ForkJoinPool(4);
+        try {
+            LoadingPlan first = new MultiStartPlanGenerator(8, 1234, singleThread).generatePlan(ship, containers);
+            LoadingPlan second = new MultiStartPlanGenerator(8, 1234, fourThreads).generatePlan(ship, containers);
+
+            assertEquals(first.size(), second.size());
+            for (int row = 0; row < first.size(); row++) {
+                assertSame(first.getContainer(row), second.getContainer(row));
+                assertEquals(first.getStorageAreaIndex(row), second.getStorageAreaIndex(row));
+            }
+        } finally {
+            singleThread.shutdown();
+            fourThreads.shutdown();
+        }
+    }
+
+    @Test
+    void testIsNeverWorseThanGreedyBalancing() {
+        ContainerShip greedyShip = new ContainerShip(20, 4, 35);
+        ContainerShip multiStartShip = greedyShip.clone();
+        ContainerTerminal terminal = new ContainerTerminal(75, 90);
+        terminal.placeRandomContainers(3000);
+        List<Container> containers = terminal.getAllContainers();
+
+        LoadingPlan greedyPlan = new GreedyBalancingLoadingPlanGenerator().generatePlan(greedyShip, containers);
+        LoadingPlan multiStartPlan = new MultiStartPlanGenerator(42).generatePlan(multiStartShip, containers);
+        for (int row = 0; row < greedyPlan.size(); row++) {
+            greedyShip.getStorageArea(greedyPlan.getStorageAreaIndex(row)).addContainer(greedyPlan.getContainer(row));
+        }
+        for (int row = 0; row < multiStartPlan.size(); row++) {
+            multiStartShip.getStorageArea(multiStartPlan.getStorageAreaIndex(row)).addContainer(multiStartPlan.getContainer(row));
+        }
+
+        assertEquals(3000, multiStartPlan.size());
+        assertTrue(multiStartShip.getBalanceValue() <= greedyShip.getBalanceValue() + 1e-6);
+    }
+}
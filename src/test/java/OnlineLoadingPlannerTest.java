@@ -0,0 +1,102 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.SubmissionPublisher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test the class {@link OnlineLoadingPlanner}
+ */
+public class OnlineLoadingPlannerTest {
+
+    @Test
+    void testKeepsImbalanceBelowHeaviestContainer() {
+        ContainerShip ship = new ContainerShip(20, 4, 35);
+        ContainerTerminal terminal = new ContainerTerminal(75, 90);
+        terminal.placeRandomContainers(2000);
+        LoadingPlan loadingPlan = new LoadingPlan(ship.getId());
+        OnlineLoadingPlanner planner = new OnlineLoadingPlanner(ship, loadingPlan);
+
+        for (Container container : terminal.getAllContainers()) {
+            assertTrue(planner.accept(container) >= 0);
+            assertTrue(planner.getBalanceValue() <= ContainerTerminal.MAX_WEIGHT);
+        }
+
+        assertEquals(2000, planner.getPlannedCount());
+        assertEquals(2000, new ShipLoader().loadShip(ship, terminal, loadingPlan));
+        assertEquals(planner.getBalanceValue(), ship.getBalanceValue(), 1e-6);
+    }
+
+    @Test
+    void testUsesSideWithMoreFreeSlotsWithinCap() {
+        // Links leichter, aber mit weniger freien Stellplätzen als rechts
+        ContainerShip ship = new ContainerShip(2, 1, 4);
+        int leftCount = 0;
+        int rightCount = 0;
+        for (int area = 0; area < ship.getStorageAreaCount(); area++) {
+            StorageArea storageArea = ship.getStorageArea(area);
+            if (ship.isLeftStorageArea(area)) {
+                for (int i = 0; i < 2 && leftCount < 4; i++, leftCount++) {
+                    storageArea.addContainer(new Container(12500, false, ShippingCompany.MSC));
+                }
+            } else if (rightCount < 2) {
+                storageArea.addContainer(new Container(30000, true, ShippingCompany.MSC));
+                rightCount++;
+            }
+        }
+        Container container = new Container(15000, false, ShippingCompany.MSC);
+
+        int area = new OnlineLoadingPlanner(ship, new LoadingPlan(ship.getId())).accept(container);
+        int cappedArea = new OnlineLoadingPlanner(ship, new LoadingPlan(ship.getId()), 0).accept(container);
+
+        // Die Abweichung steigt auf 25 000 und bleibt damit unter der Standardgrenze
+        assertFalse(ship.isLeftStorageArea(area));
+        assertTrue(ship.isLeftStorageArea(cappedArea));
+    }
+
+    @Test
+    void testPlansPublishedContainersAndBatches() {
+        ContainerShip ship = new ContainerShip(2, 1, 2);
+        ContainerTerminal terminal = new ContainerTerminal(5, 5);
+        terminal.placeRandomContainers(12);
+        List<Container> containers = terminal.getAllContainers();
+
+        // Einzelne Container: nur acht passen auf das Schiff, der Rest bleibt im Terminal
+        LoadingPlan loadingPlan = new LoadingPlan(ship.getId());
+        OnlineLoadingPlanner planner = new OnlineLoadingPlanner(ship, loadingPlan);
+        SubmissionPublisher<Container> publisher = new SubmissionPublisher<>();
+        CompletableFuture<Integer> done;
+        try {
+            done = planner.subscribe(publisher);
+            containers.subList(0, 10).forEach(publisher::submit);
+        } finally {
+            publisher.close();
+        }
+        int planned = done.join();
+        assertEquals(8, planned);
+        assertEquals(2, planner.getRejectedCount());
+        assertEquals(8, loadingPlan.size());
+
+        // Micro-Batches auf einem größeren Schiff
+        ContainerShip largerShip = new ContainerShip(4, 2, 5);
+        LoadingPlan batchPlan = new LoadingPlan(largerShip.getId());
+        OnlineLoadingPlanner batchPlanner = new OnlineLoadingPlanner(largerShip, batchPlan);
+        SubmissionPublisher<List<Container>> batchPublisher = new SubmissionPublisher<>();
+        try {
+            done = batchPlanner.subscribeBatches(batchPublisher);
+            batchPublisher.submit(new ArrayList<>(containers.subList(0, 5)));
+            batchPublisher.submit(new ArrayList<>(containers.subList(5, 12)));
+        } finally {
+            batchPublisher.close();
+        }
+        planned = done.join();
+        assertEquals(12, planned);
+        assertEquals(12, batchPlan.size());
+        assertTrue(batchPlanner.getBalanceValue() <= ContainerTerminal.MAX_WEIGHT);
+    }
+}
@@ -0,0 +1,107 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test the class {@link ParallelPlanReader}
+ */
+public class ParallelPlanReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReadsSamePlanAsSequentialReader() throws IOException {
+        ContainerShip ship = new ContainerShip(20, 4, 35);
+        ContainerTerminal terminal = new ContainerTerminal(75, 90);
+        terminal.placeRandomContainers(4000);
+        LoadingPlan loadingPlan = new GreedyBalancingLoadingPlanGenerator().generatePlan(ship, terminal.getAllContainers());
+        Path csvFile = tempDir.resolve("plan.csv");
+        LoadingManager loadingManager = new LoadingManager();
+        loadingManager.writePlanToCSV(loadingPlan, ship, csvFile.toString());
+
+        LoadingPlan expected = loadingManager.readPlanFromCSV(ship, terminal, csvFile.toString());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // Kleine Chunks, damit viele Grenzen mitten in Zeilen liegen
+            for (int minChunkSize : new int[]{1, 100, 4096, ParallelPlanReader.DEFAULT_MIN_CHUNK_SIZE}) {
+                LoadingPlan actual = new ParallelPlanReader(pool, minChunkSize).read(ship, terminal, csvFile);
+                assertEquals(expected.size(), actual.size());
+                for (int row = 0; row < expected.size(); row++) {
+                    assertSame(expected.getContainer(row), actual.getContainer(row));
+                    assertEquals(expected.getStorageAreaIndex(row), actual.getStorageAreaIndex(row));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSkipsHeaderAndMalformedLinesAcrossChunks() throws IOException {
+        ContainerShip ship = new ContainerShip(2, 2, 5);
+        ContainerTerminal terminal = new ContainerTerminal(2, 2);
+        terminal.placeRandomContainers(3);
+        UUID storageArea = ship.getStorageArea(0).getId();
+        StringBuilder csv = new StringBuilder("ContainerUUID,StackUUID\n");
+        for (Container container : terminal.getAllContainers()) {
+            csv.append(container.getId()).append(',').append(storageArea).append("\r\n");
+            csv.append("not a row\n");
+        }
+        Path csvFile = tempDir.resolve("malformed.csv");
+        Files.writeString(csvFile, csv.toString());
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            LoadingPlan actual = new ParallelPlanReader(pool, 10).read(ship, terminal, csvFile);
+            assertEquals(3, actual.size());
+            for (int row = 0; row < actual.size(); row++) {
+                assertSame(terminal.getAllContainers().get(row), actual.getContainer(row));
+                assertEquals(0, actual.getStorageAreaIndex(row));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testLoadsShipLikeSequentialLoader() {
+        ContainerShip sequentialShip = new ContainerShip(20, 4, 35);
+        ContainerShip parallelShip = sequentialShip.clone();
+        ContainerTerminal sequentialTerminal = new ContainerTerminal(75, 90);
+        sequentialTerminal.placeRandomContainers(2000);
+        ContainerTerminal parallelTerminal = new ContainerTerminal(75, 90);
+        sequentialTerminal.getAllContainers().forEach(c -> parallelTerminal.addContainer(
+                parallelTerminal.getContainerCount() / 90, parallelTerminal.getContainerCount() % 90, c));
+        LoadingPlan loadingPlan = new GreedyBalancingLoadingPlanGenerator()
+                .generatePlan(sequentialShip, sequentialTerminal.getAllContainers());
+        String csvFile = tempDir.resolve("load.csv").toString();
+        new LoadingManager().writePlanToCSV(loadingPlan, sequentialShip, csvFile);
+
+        ShipLoader loader = new ShipLoader();
+        loader.loadShipFromCSV(sequentialShip, sequentialTerminal, csvFile);
+        int loaded = loader.loadShipFromCSV(parallelShip, parallelTerminal, csvFile, new ParallelPlanReader());
+
+        assertEquals(loadingPlan.size(), loaded);
+        assertTrue(parallelTerminal.getContainerCount() < 2000);
+        assertEquals(sequentialTerminal.getContainerCount(), parallelTerminal.getContainerCount());
+        for (int i = 0; i < sequentialShip.getStorageAreaCount(); i++) {
+            StorageArea expected = sequentialShip.getStorageArea(i);
+            StorageArea actual = parallelShip.getStorageArea(i);
+            assertEquals(expected.getContainerCount(), actual.getContainerCount());
+            // Von oben nach unten abbauen, damit auch die Stapelreihenfolge verglichen wird
+            while (expected.getContainerCount() > 0) {
+                assertSame(expected.removeContainer().orElseThrow(), actual.removeContainer().orElseThrow());
+            }
+        }
+    }
+}
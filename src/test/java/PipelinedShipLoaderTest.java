@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class to test the class {@link PipelinedShipLoader}
+ */
+public class PipelinedShipLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLoadsAndWritesLikeSequentialMode() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (LoadingPlanGenerator generator : List.of(new GreedyBalancingLoadingPlanGenerator(), new GreedySimplePlanGenerator())) {
+                ContainerShip sequentialShip = new ContainerShip(20, 4, 35);
+                ContainerShip pipelinedShip = sequentialShip.clone();
+                ContainerTerminal sequentialTerminal = new ContainerTerminal(75, 90);
+                sequentialTerminal.placeRandomContainers(4000);
+                ContainerTerminal pipelinedTerminal = TestFixtures.copyOf(sequentialTerminal);
+
+                LoadingPlan loadingPlan = generator.generatePlan(sequentialShip, sequentialTerminal.getAllContainers());
+                Path sequentialCsv = tempDir.resolve("sequential.csv");
+                new LoadingManager().writePlanToCSV(loadingPlan, sequentialShip, sequentialCsv.toString());
+                int expectedLoaded = new ShipLoader().loadShip(sequentialShip, sequentialTerminal, loadingPlan);
+
+                // Kleine Batches und ein kleiner Puffer, damit der Generator regelmäßig blockiert
+                Path pipelinedCsv = tempDir.resolve("pipelined.csv");
+                int loaded = new PipelinedShipLoader(executor, 7, 2).run(generator, pipelinedShip, pipelinedTerminal,
+                        pipelinedTerminal.getAllContainers(), pipelinedCsv.toString());
+
+                assertEquals(expectedLoaded, loaded);
+                assertEquals(Files.readAllLines(sequentialCsv), Files.readAllLines(pipelinedCsv));
+                assertEquals(sequentialTerminal.getContainerCount(), pipelinedTerminal.getContainerCount());
+                assertEquals(sequentialShip.getBalanceValue(), pipelinedShip.getBalanceValue(), 1e-6);
+                for (int i = 0; i < sequentialShip.getStorageAreaCount(); i++) {
+                    StorageArea expected = sequentialShip.getStorageArea(i);
+                    StorageArea actual = pipelinedShip.getStorageArea(i);
+                    assertEquals(expected.getContainerCount(), actual.getContainerCount());
+                    while (expected.getContainerCount() > 0) {
+                        assertSame(expected.removeContainer().orElseThrow(), actual.removeContainer().orElseThrow());
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testRunsWithoutWriterAndRejectsLoadedShip() {
+        ContainerShip ship = new ContainerShip(4, 2, 5);
+        ContainerTerminal terminal = new ContainerTerminal(10, 10);
+        terminal.placeRandomContainers(30);
+
+        int loaded = new PipelinedShipLoader().run(new GreedyBalancingLoadingPlanGenerator(), ship, terminal,
+                terminal.getAllContainers(), null);
+
+        assertEquals(30, loaded);
+        assertEquals(30, ship.getContainerCount());
+        assertEquals(0, terminal.getContainerCount());
+        assertThrows(IllegalArgumentException.class, () -> new PipelinedShipLoader().run(
+                new GreedyBalancingLoadingPlanGenerator(), ship, terminal, terminal.getAllContainers(), null));
+    }
+
+    @Test
+    void testPropagatesGeneratorFailure() {
+        ContainerShip ship = new ContainerShip(4, 2, 5);
+        ContainerTerminal terminal = new ContainerTerminal(10, 10);
+        terminal.placeRandomContainers(30);
+        LoadingPlanGenerator failing = (planShip, containers, sink) -> {
+            sink.add(containers.get(0), 0);
+            throw new IllegalStateException("planning failed");
+        };
+
+        assertThrows(IllegalStateException.class, () -> new PipelinedShipLoader(Runnable::run, 1, 1).run(
+                failing, ship, terminal, terminal.getAllContainers(), tempDir.resolve("failed.csv").toString()));
+    }
+}
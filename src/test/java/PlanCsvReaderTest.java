@@ -0,0 +1,72 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Class to test the class {@link PlanCsvReader}
+ */
+public class PlanCsvReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReadsRowsAndReportsMalformedLines() throws IOException {
+        UUID container = UUID.randomUUID();
+        UUID storageArea = UUID.randomUUID();
+        Path csvFile = tempDir.resolve("plan.csv");
+        Files.writeString(csvFile, "ContainerUUID,StackUUID\n"
+                + container + "," + storageArea + "\n"
+                + "not a row\n"
+                + container + ";" + storageArea + "\n"
+                + "\r\n"
+                + container.toString().toUpperCase() + "," + storageArea.toString().replace('-', 'x') + "\n"
+                + storageArea + "," + container + "\r\n"
+                + container + "," + container);
+
+        List<UUID> rows = new ArrayList<>();
+        List<Long> malformedLines = new ArrayList<>();
+        long count = new PlanCsvReader().read(csvFile, new PlanRowHandler() {
+            @Override
+            public void onRow(long lineNumber, long containerMsb, long containerLsb, long storageAreaMsb, long storageAreaLsb) {
+                rows.add(new UUID(containerMsb, containerLsb));
+                rows.add(new UUID(storageAreaMsb, storageAreaLsb));
+            }
+
+            @Override
+            public void onMalformedRow(long lineNumber, String message) {
+                malformedLines.add(lineNumber);
+            }
+        });
+
+        assertEquals(3, count);
+        assertEquals(List.of(container, storageArea, storageArea, container, container, container), rows);
+        assertEquals(List.of(3L, 4L, 6L), malformedLines);
+    }
+
+    @Test
+    void testReadsPlansLargerThanTheBuffer() throws IOException {
+        ContainerShip ship = new ContainerShip(20, 4, 35);
+        ContainerTerminal terminal = new ContainerTerminal(75, 90);
+        terminal.placeRandomContainers(4000);
+        LoadingPlan loadingPlan = new GreedyBalancingLoadingPlanGenerator().generatePlan(ship, terminal.getAllContainers());
+        Path csvFile = tempDir.resolve("large.csv");
+        LoadingManager loadingManager = new LoadingManager();
+        loadingManager.writePlanToCSV(loadingPlan, ship, csvFile.toString());
+
+        LoadingPlan readPlan = loadingManager.readPlanFromCSV(ship, terminal, csvFile.toString());
+        assertEquals(loadingPlan.size(), readPlan.size());
+        for (int row = 0; row < loadingPlan.size(); row++) {
+            assertEquals(loadingPlan.getContainer(row), readPlan.getContainer(row));
+            assertEquals(loadingPlan.getStorageAreaIndex(row), readPlan.getStorageAreaIndex(row));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Class to test the class {@link PlanCsvWriter}
+ */
+public class PlanCsvWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWritesCanonicalUuids() throws IOException {
+        Path csvFile = tempDir.resolve("plan.csv");
+        List<String> expected = new ArrayList<>();
+        expected.add("ContainerUUID,StackUUID");
+        try (PlanCsvWriter writer = new PlanCsvWriter(csvFile, null)) {
+            // Genug Zeilen, damit der Puffer mehrmals geleert wird
+            for (int i = 0; i < 5000; i++) {
+                UUID containerId = i == 0 ? new UUID(0, 0) : UUID.randomUUID();
+                UUID storageAreaId = i == 0 ? new UUID(-1, -1) : UUID.randomUUID();
+                writer.writeRow(containerId, storageAreaId);
+                expected.add(containerId + "," + storageAreaId);
+            }
+            assertEquals(5000, writer.getRowCount());
+        }
+        assertEquals(expected, Files.readAllLines(csvFile));
+    }
+
+    @Test
+    void testStreamsGeneratorOutput() {
+        ContainerShip ship = new ContainerShip(20, 4, 35);
+        ContainerTerminal terminal = new ContainerTerminal(75, 90);
+        terminal.placeRandomContainers(4000);
+        String csvFilePath = tempDir.resolve("streamed.csv").toString();
+
+        new GreedySimplePlanGenerator().generatePlan(ship, terminal.getAllContainers(), csvFilePath);
+        new ShipLoader().loadShipFromCSV(ship, terminal, csvFilePath);
+
+        assertEquals(0, terminal.getContainerCount());
+    }
+}
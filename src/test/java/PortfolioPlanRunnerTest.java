@@ -0,0 +1,83 @@
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test the class {@link PortfolioPlanRunner}
+ */
+public class PortfolioPlanRunnerTest {
+
+    @Test
+    void testPicksBestPlanAndKeepsCallerListUnchanged() {
+        ContainerShip ship = new ContainerShip(20, 4, 35);
+        ContainerTerminal terminal = new ContainerTerminal(75, 90);
+        terminal.placeRandomContainers(4000);
+        List<Container> containers = terminal.getAllContainers();
+        List<Container> original = new ArrayList<>(containers);
+
+        PortfolioResult result = PortfolioPlanRunner.withDefaultGenerators()
+                .run(ship, containers, Duration.ofSeconds(30));
+
+        assertEquals(original, containers);
+        assertEquals(0, ship.getContainerCount());
+        assertEquals(List.of("GreedyBalancing", "GreedySimple", "KarmarkarKarp", "MultiStart", "BranchAndBound"),
+                new ArrayList<>(result.getLatencies().keySet()));
+        assertTrue(result.getCancelledGenerators().isEmpty());
+        assertTrue(result.getFailures().isEmpty());
+        for (double balanceValue : result.getBalanceValues().values()) {
+            assertTrue(result.getBestBalanceValue() <= balanceValue);
+        }
+
+        new ShipLoader().loadShip(ship, terminal, result.getBestPlan());
+        assertEquals(result.getBestBalanceValue(), ship.getBalanceValue(), 1e-3);
+    }
+
+    @Test
+    void testCancelsStragglersAndReportsFailures() {
+        ContainerShip ship = new ContainerShip(4, 2, 5);
+        ContainerTerminal terminal = new ContainerTerminal(10, 10);
+        terminal.placeRandomContainers(50);
+        LoadingPlanGenerator straggler = (planShip, containers, sink) -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        LoadingPlanGenerator failing = (planShip, containers, sink) -> {
+            throw new IllegalStateException("planning failed");
+        };
+        LoadingPlanGenerator overflowing = (planShip, containers, sink) -> {
+            throw new StackOverflowError("search too deep");
+        };
+        GreedySimplePlanGenerator greedy = new GreedySimplePlanGenerator();
+
+        long start = System.nanoTime();
+        PortfolioResult result = new PortfolioPlanRunner()
+                .register("Straggler", straggler)
+                .register("Failing", failing)
+                .register("Overflowing", overflowing)
+                .register("GreedySimple", greedy)
+                .run(ship, terminal.getAllContainers(), Duration.ofMillis(500));
+
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(30).toNanos());
+        assertEquals("GreedySimple", result.getBestGeneratorName());
+        assertEquals(List.of("Straggler"), result.getCancelledGenerators());
+        assertTrue(result.getFailures().get("Failing") instanceof IllegalStateException);
+        assertTrue(result.getFailures().get("Overflowing") instanceof StackOverflowError);
+        assertEquals(50, result.getBestPlan().size());
+        assertThrows(IllegalStateException.class, () -> new PortfolioPlanRunner()
+                .register("Straggler", straggler)
+                .run(ship, terminal.getAllContainers(), Duration.ofMillis(50)));
+        assertThrows(IllegalArgumentException.class, () -> new PortfolioPlanRunner()
+                .register("GreedySimple", greedy)
+                .register("GreedySimple", greedy));
+    }
+}
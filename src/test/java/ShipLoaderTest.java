@@ -0,0 +1,132 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class to test the class {@link ShipLoader}
+ */
+public class ShipLoaderTest {
+
+    @Test
+    void testCranesStackLikeSingleCrane() {
+        ContainerShip singleCraneShip = new ContainerShip(20, 4, 35);
+        ContainerShip multiCraneShip = singleCraneShip.clone();
+        ContainerTerminal singleCraneTerminal = new ContainerTerminal(75, 90);
+        singleCraneTerminal.placeRandomContainers(5000);
+        ContainerTerminal multiCraneTerminal = TestFixtures.copyOf(singleCraneTerminal);
+        LoadingPlan loadingPlan = new GreedyBalancingLoadingPlanGenerator()
+                .generatePlan(singleCraneShip, singleCraneTerminal.getAllContainers());
+
+        int expected = new ShipLoader().loadShip(singleCraneShip, singleCraneTerminal, loadingPlan);
+        int loaded = new ShipLoader().loadShip(multiCraneShip, multiCraneTerminal, loadingPlan, 6);
+
+        assertEquals(expected, loaded);
+        assertEquals(singleCraneTerminal.getContainerCount(), multiCraneTerminal.getContainerCount());
+        assertEquals(singleCraneShip.getContainerCount(), multiCraneShip.getContainerCount());
+        assertEquals(singleCraneShip.getTotalLeftWeight(), multiCraneShip.getTotalLeftWeight(), 1e-3);
+        assertEquals(singleCraneShip.getTotalRightWeight(), multiCraneShip.getTotalRightWeight(), 1e-3);
+        for (int i = 0; i < singleCraneShip.getStorageAreaCount(); i++) {
+            StorageArea expectedArea = singleCraneShip.getStorageArea(i);
+            StorageArea actualArea = multiCraneShip.getStorageArea(i);
+            assertEquals(expectedArea.getContainerCount(), actualArea.getContainerCount());
+            while (expectedArea.getContainerCount() > 0) {
+                assertSame(expectedArea.removeContainer().orElseThrow(), actualArea.removeContainer().orElseThrow());
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShipLoader().loadShip(multiCraneShip, multiCraneTerminal, loadingPlan, 0));
+    }
+
+    @Test
+    void testContainersForFullStorageAreaStayInTerminal() {
+        for (int cranes = 0; cranes <= 2; cranes++) {
+            ContainerShip ship = new ContainerShip(1, 1, 2);
+            ContainerTerminal terminal = new ContainerTerminal(3, 3);
+            terminal.placeRandomContainers(5);
+            // Fünf Zeilen für einen Lagerbereich mit nur zwei Stellplätzen
+            LoadingPlan loadingPlan = new LoadingPlan(ship.getId());
+            for (Container container : terminal.getAllContainers()) {
+                loadingPlan.add(container, 0);
+            }
+
+            int loaded = cranes == 0
+                    ? new ShipLoader().loadShip(ship, terminal, loadingPlan)
+                    : new ShipLoader().loadShip(ship, terminal, loadingPlan, cranes);
+
+            assertEquals(2, loaded);
+            assertEquals(2, ship.getContainerCount());
+            assertEquals(3, terminal.getContainerCount());
+        }
+    }
+
+    @Test
+    void testShipTotalsStayConsistentWhenCranesShareTheShip() throws Exception {
+        // Jeder Thread arbeitet wie ein Kran nur in seiner eigenen Sektion, die Summen des Schiffes teilen sich alle
+        int threads = 6;
+        ContainerShip ship = new ContainerShip(threads, 2, 6);
+        ContainerTerminal terminal = new ContainerTerminal(20, 20);
+        terminal.placeRandomContainers(400);
+        List<Container> containers = terminal.getAllContainers();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] workers = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                Random random = new Random(t);
+                List<StorageArea> areas = ship.getSections().get(t).getAllStorageAreas();
+                workers[t] = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 20000; i++) {
+                        StorageArea area = areas.get(random.nextInt(areas.size()));
+                        if (random.nextBoolean()) {
+                            area.addContainer(containers.get(random.nextInt(containers.size())));
+                        } else {
+                            area.removeContainer();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Die Summen der Sektionen und des Schiffes müssen zum Inhalt der Stapel passen
+        double left = 0;
+        double right = 0;
+        int count = 0;
+        for (Section section : ship.getSections()) {
+            double sectionLeft = 0;
+            double sectionRight = 0;
+            for (StorageArea area : section.getLeftStorageAreas()) {
+                sectionLeft += area.getTotalWeight();
+                count += area.getContainerCount();
+            }
+            for (StorageArea area : section.getRightStorageAreas()) {
+                sectionRight += area.getTotalWeight();
+                count += area.getContainerCount();
+            }
+            assertEquals(sectionLeft, section.getLeftTotalWeight(), 1e-3);
+            assertEquals(sectionRight, section.getRightTotalWeight(), 1e-3);
+            left += sectionLeft;
+            right += sectionRight;
+        }
+        assertEquals(count, ship.getContainerCount());
+        assertEquals(left, ship.getTotalLeftWeight(), 1e-3);
+        assertEquals(right, ship.getTotalRightWeight(), 1e-3);
+    }
+}
@@ -0,0 +1,62 @@
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test the class {@link SimulatedAnnealingPlanImprover}
+ */
+public class SimulatedAnnealingPlanImproverTest {
+
+    @Test
+    void testImprovedPlanIsNeverWorseAndFitsTheShip() {
+        for (LoadingPlanGenerator generator : new LoadingPlanGenerator[]{
+                new GreedySimplePlanGenerator(), new GreedyBalancingLoadingPlanGenerator()}) {
+            ContainerShip ship = new ContainerShip(20, 4, 35);
+            ContainerTerminal terminal = new ContainerTerminal(75, 90);
+            terminal.placeRandomContainers(4000);
+            LoadingPlan loadingPlan = generator.generatePlan(ship, terminal.getAllContainers());
+
+            ContainerShip originalShip = ship.clone();
+            new ShipLoader().loadShip(originalShip, TestFixtures.copyOf(terminal), loadingPlan);
+            LoadingPlan improved = new SimulatedAnnealingPlanImprover(Duration.ofMillis(200), 0.1, 42)
+                    .improve(ship, loadingPlan);
+            // Das Schiff selbst wird nicht verändert
+            assertEquals(0, ship.getContainerCount());
+            int loaded = new ShipLoader().loadShip(ship, terminal, improved);
+
+            assertEquals(loadingPlan.size(), improved.size());
+            assertEquals(loadingPlan.size(), loaded);
+            for (int row = 0; row < loadingPlan.size(); row++) {
+                assertSame(loadingPlan.getContainer(row), improved.getContainer(row));
+            }
+            for (int area = 0; area < ship.getStorageAreaCount(); area++) {
+                assertTrue(ship.getStorageArea(area).getContainerCount() <= 35);
+            }
+            assertTrue(SimulatedAnnealingPlanImprover.cost(ship, 0.1)
+                    <= SimulatedAnnealingPlanImprover.cost(originalShip, 0.1) + 1e-6);
+        }
+    }
+
+    @Test
+    void testReturnsInputPlanWithoutBudget() {
+        ContainerShip ship = new ContainerShip(4, 2, 5);
+        ContainerTerminal terminal = new ContainerTerminal(10, 10);
+        terminal.placeRandomContainers(50);
+        LoadingPlan loadingPlan = new GreedySimplePlanGenerator().generatePlan(ship, terminal.getAllContainers());
+
+        LoadingPlan improved = new SimulatedAnnealingPlanImprover(Duration.ZERO).improve(ship, loadingPlan);
+
+        assertEquals(loadingPlan.size(), improved.size());
+        for (int row = 0; row < loadingPlan.size(); row++) {
+            assertSame(loadingPlan.getContainer(row), improved.getContainer(row));
+            assertEquals(loadingPlan.getStorageAreaIndex(row), improved.getStorageAreaIndex(row));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SimulatedAnnealingPlanImprover(Duration.ZERO)
+                .improve(new ContainerShip(4, 2, 5), loadingPlan));
+    }
+}
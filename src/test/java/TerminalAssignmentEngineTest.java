@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test the class {@link TerminalAssignmentEngine}
+ */
+public class TerminalAssignmentEngineTest {
+
+    @Test
+    void testFillsShipsFromOwnTerminalFirstAndLoadsFromAllTerminals() {
+        ContainerShip ship1 = new ContainerShip(4, 2, 5);
+        ContainerShip ship2 = new ContainerShip(4, 2, 5);
+        ContainerTerminal terminal1 = new ContainerTerminal(12, 12);
+        ContainerTerminal terminal2 = new ContainerTerminal(12, 12);
+        ContainerTerminal terminal3 = new ContainerTerminal(12, 12);
+        terminal1.placeRandomContainers(120);
+        terminal2.placeRandomContainers(50);
+        terminal3.placeRandomContainers(30);
+        List<ContainerTerminal> terminals = List.of(terminal1, terminal2, terminal3);
+        TerminalAssignmentEngine engine = new TerminalAssignmentEngine(new GreedyBalancingLoadingPlanGenerator());
+
+        TerminalAssignment assignment = engine.assign(List.of(ship1, ship2), List.of(terminal1, terminal2), terminals);
+
+        // Beide Schiffe haben 80 Stellplätze: Schiff 1 nur aus Terminal 1, Schiff 2 braucht 30 Container von außerhalb
+        assertEquals(80, assignment.getPlan(0).size());
+        assertEquals(80, assignment.getPlan(1).size());
+        assertEquals(80, assignment.getSubPlan(0, 0).size());
+        assertEquals(50, assignment.getSubPlan(1, 1).size());
+        assertEquals(30, assignment.getSubPlan(1, 0).size() + assignment.getSubPlan(1, 2).size());
+        assertEquals(30, assignment.getTransferCount());
+        assertEquals(160, assignment.getContainerCount(0) + assignment.getContainerCount(1)
+                + assignment.getContainerCount(2));
+        for (int terminal = 0; terminal < 3; terminal++) {
+            assertEquals(assignment.getContainerCount(terminal), assignment.getRows(terminal).length);
+            for (int k = 0; k < assignment.getRows(terminal).length; k++) {
+                assertEquals(terminal, assignment.getTerminalOfRow(assignment.getRowShips(terminal)[k],
+                        assignment.getRows(terminal)[k]));
+            }
+        }
+        for (int ship = 0; ship < 2; ship++) {
+            LoadingPlan loadingPlan = assignment.getPlan(ship);
+            for (int row = 0; row < loadingPlan.size(); row++) {
+                ContainerTerminal terminal = terminals.get(assignment.getTerminalOfRow(ship, row));
+                assertNotNull(terminal.getContainerById(loadingPlan.getContainer(row).getId()));
+            }
+        }
+
+        assertEquals(160, engine.load(assignment));
+        assertEquals(80, ship1.getContainerCount());
+        assertEquals(80, ship2.getContainerCount());
+        assertEquals(40, terminal1.getContainerCount() + terminal2.getContainerCount() + terminal3.getContainerCount());
+        assertEquals(0, terminal2.getContainerCount());
+        assertTrue(ship1.getBalanceValue() <= ContainerTerminal.MAX_WEIGHT);
+        assertTrue(ship2.getBalanceValue() <= ContainerTerminal.MAX_WEIGHT);
+    }
+
+    @Test
+    void testRejectsInvalidBerths() {
+        ContainerShip ship = new ContainerShip(2, 1, 2);
+        ContainerTerminal terminal = new ContainerTerminal(3, 3);
+        ContainerTerminal otherTerminal = new ContainerTerminal(3, 3);
+        TerminalAssignmentEngine engine = new TerminalAssignmentEngine(new GreedyBalancingLoadingPlanGenerator());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.assign(List.of(ship), List.of(otherTerminal), List.of(terminal)));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.assign(List.of(ship), List.of(terminal, terminal), List.of(terminal)));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.assign(List.of(ship, ship), List.of(terminal, terminal), List.of(terminal)));
+    }
+}
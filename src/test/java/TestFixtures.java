@@ -0,0 +1,28 @@
+import java.util.List;
+
+/**
+ * Creates the terminals shared by several tests.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    /**
+     * Creates a terminal holding the same containers in the same order.
+     *
+     * @param terminal The terminal to copy.
+     * @return A new terminal with the same containers.
+     */
+    public static ContainerTerminal copyOf(ContainerTerminal terminal) {
+        List<Container> containers = terminal.getAllContainers();
+        int cols = 90;
+        ContainerTerminal copy = new ContainerTerminal(Math.max(1, (containers.size() + cols - 1) / cols), cols);
+        int slot = 0;
+        for (Container container : containers) {
+            copy.addContainer(slot / cols, slot % cols, container);
+            slot++;
+        }
+        return copy;
+    }
+}
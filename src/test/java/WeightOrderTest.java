@@ -0,0 +1,58 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Class to test the class {@link WeightOrder}
+ */
+public class WeightOrderTest {
+
+    @Test
+    void testOrdersLikeStableComparatorSort() {
+        Random random = new Random(7);
+        for (int count : new int[]{0, 1, 5, 64, 65, 1000, 50000}) {
+            List<Container> containers = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                // Gerundete Gewichte, damit viele gleich schwere Container vorkommen
+                double weight = i % 3 == 0 ? Math.round(ContainerTerminal.MIN_WEIGHT + random.nextDouble() * 100)
+                        : ContainerTerminal.MIN_WEIGHT + random.nextDouble() * (ContainerTerminal.MAX_WEIGHT - ContainerTerminal.MIN_WEIGHT);
+                containers.add(new Container(weight, false, ShippingCompany.values()[0]));
+            }
+            List<Container> original = new ArrayList<>(containers);
+            List<Container> expected = new ArrayList<>(containers);
+            expected.sort(Comparator.comparing(Container::getWeight).reversed());
+
+            WeightOrder order = new WeightOrder(containers);
+
+            assertEquals(original, containers);
+            assertEquals(count, order.size());
+            for (int rank = 0; rank < count; rank++) {
+                assertSame(expected.get(rank), order.getContainer(rank));
+                assertEquals(expected.get(rank).getWeight(), order.getWeight(rank));
+            }
+        }
+        assertArrayEquals(new int[]{2, 0, 3, 1, 4},
+                WeightOrder.descendingOrder(new double[]{5, -1, 7, 5, -2.5}));
+    }
+
+    @Test
+    void testGreedyGeneratorsKeepCallerListUnchanged() {
+        ContainerTerminal terminal = new ContainerTerminal(20, 20);
+        terminal.placeRandomContainers(300);
+        List<Container> containers = terminal.getAllContainers();
+        List<Container> original = new ArrayList<>(containers);
+
+        for (LoadingPlanGenerator generator : List.of(new GreedyBalancingLoadingPlanGenerator(), new GreedySimplePlanGenerator())) {
+            LoadingPlan loadingPlan = generator.generatePlan(new ContainerShip(4, 2, 5), containers);
+            assertEquals(original, containers);
+            assertEquals(80, loadingPlan.size());
+        }
+    }
+}